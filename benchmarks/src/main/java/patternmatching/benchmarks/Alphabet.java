@@ -0,0 +1,70 @@
+package patternmatching.benchmarks;
+
+/**
+ * The alphabets benchmark text and patterns are drawn from.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public enum Alphabet {
+
+    /**
+     * The four DNA bases, the smallest alphabet the searchers are used with.
+     */
+    DNA(1) {
+        @Override
+        char charAt(int i) {
+            return "ACGT".charAt(i & 3);
+        }
+    },
+
+    /**
+     * Printable ASCII, space through tilde.
+     */
+    ASCII(1) {
+        @Override
+        char charAt(int i) {
+            return (char) (' ' + Math.floorMod(i, 95));
+        }
+    },
+
+    /**
+     * Every Basic Multilingual Plane char from space up to, but not including,
+     * the surrogates. Strings over it are stored with two bytes per char.
+     */
+    UNICODE(2) {
+        @Override
+        char charAt(int i) {
+            return (char) (' ' + Math.floorMod(i, 0xD800 - ' '));
+        }
+    };
+
+    private final int bytesPerChar;
+
+    /**
+     * Creates an alphabet.
+     *
+     * @param bytesPerChar bytes a String over the alphabet uses per char
+     */
+    Alphabet(int bytesPerChar) {
+        this.bytesPerChar = bytesPerChar;
+    }
+
+    /**
+     * Gets the bytes a String over the alphabet uses per char, 1 when the JVM
+     * can store it as Latin-1.
+     *
+     * @return bytes per char
+     */
+    public int bytesPerChar() {
+        return bytesPerChar;
+    }
+
+    /**
+     * Maps a random int to a char of the alphabet.
+     *
+     * @param i any int
+     * @return a char of the alphabet
+     */
+    abstract char charAt(int i);
+}
@@ -0,0 +1,75 @@
+package patternmatching.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import patternmatching.AlgorithmSelector;
+import patternmatching.SearchAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a one-off query over random text of 64K chars drawn from a
+ * growing number of letters, for the engines {@link AlgorithmSelector}
+ * picks between small and large alphabets and for the selector itself. The
+ * selector's small-alphabet cut-off is calibrated from where the engines
+ * cross over.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 3, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AlphabetSizeBenchmark {
+
+    private static final int TEXT_SIZE = 65536;
+
+    @Param({"ADAPTIVE", "SHIFT_OR", "VECTORIZED", "RARE_CHAR", "RAITA"})
+    private String engine;
+
+    @Param({"4", "6", "8", "12", "16", "24", "32", "64"})
+    private int letters;
+
+    @Param({"8", "32", "128"})
+    private int patternLength;
+
+    private String text;
+    private String pattern;
+    private SearchAlgorithm algorithm;
+    private final MatchCounter counter = new MatchCounter();
+
+    /**
+     * Generates the pattern and text once per trial.
+     */
+    @Setup
+    public void setUp() {
+        pattern = Workloads.letters(letters, patternLength, 0);
+        text = Workloads.letters(letters, TEXT_SIZE, 1);
+        algorithm = "ADAPTIVE".equals(engine) ? null : SearchAlgorithm.valueOf(engine);
+    }
+
+    /**
+     * Picks the engine, compiles the pattern and searches the whole text.
+     *
+     * @return the number of matches, so the search cannot be optimized away
+     */
+    @Benchmark
+    public int query() {
+        counter.reset();
+        SearchAlgorithm chosen = algorithm == null ? AlgorithmSelector.select(pattern, text) : algorithm;
+        chosen.compile(pattern).search(text, counter);
+        return counter.count();
+    }
+}
@@ -0,0 +1,56 @@
+package patternmatching.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler always on, so every result comes
+ * with its allocation rate (gc.alloc.rate and gc.alloc.rate.norm).
+ *
+ * Takes the usual JMH command line, e.g. to compare the DNA workloads only:
+ *
+ * java -jar benchmarks.jar SearchBenchmark -p alphabet=DNA -p textSize=1048576
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class BenchmarkMain {
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private BenchmarkMain() {
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line. -h and -l print the
+     * help and the benchmark list instead.
+     *
+     * @param args JMH command line options
+     * @throws IOException                if the help text cannot be printed
+     * @throws CommandLineOptionException if the options cannot be parsed
+     * @throws RunnerException            if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        } else if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
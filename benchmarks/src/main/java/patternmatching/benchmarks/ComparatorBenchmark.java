@@ -0,0 +1,84 @@
+package patternmatching.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import patternmatching.CharacterComparator;
+import patternmatching.PatternMatching;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the original {@link PatternMatching} methods, which rebuild
+ * their tables, box every char through a {@link CharacterComparator} and box
+ * every match into a list. This is the baseline {@link SearchBenchmark} is
+ * compared against.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComparatorBenchmark {
+
+    @Param({"kmp", "boyerMoore", "rabinKarp"})
+    private String method;
+
+    @Param({"1024", "1048576", "67108864"})
+    private int textSize;
+
+    @Param
+    private Alphabet alphabet;
+
+    @Param({"4", "16", "64"})
+    private int patternLength;
+
+    @Param
+    private Density density;
+
+    private String text;
+    private String pattern;
+
+    /**
+     * Generates the text and pattern once per trial.
+     */
+    @Setup
+    public void setUp() {
+        pattern = Workloads.pattern(alphabet, patternLength);
+        text = Workloads.text(alphabet, textSize, pattern, density);
+    }
+
+    /**
+     * Searches the whole text with the chosen method.
+     *
+     * @param scanned counts the bytes scanned
+     * @return the matches, so the search cannot be optimized away
+     */
+    @Benchmark
+    public List<Integer> search(ScannedBytes scanned) {
+        CharacterComparator comparator = new CharacterComparator();
+        List<Integer> matches;
+        if ("kmp".equals(method)) {
+            matches = PatternMatching.kmp(pattern, text, comparator);
+        } else if ("boyerMoore".equals(method)) {
+            matches = PatternMatching.boyerMoore(pattern, text, comparator);
+        } else {
+            matches = PatternMatching.rabinKarp(pattern, text, comparator);
+        }
+        scanned.bytes += (long) textSize * alphabet.bytesPerChar();
+        return matches;
+    }
+}
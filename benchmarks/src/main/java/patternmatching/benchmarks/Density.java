@@ -0,0 +1,46 @@
+package patternmatching.benchmarks;
+
+/**
+ * How often copies of the pattern are planted in benchmark text, on top of
+ * any matches that occur by chance.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public enum Density {
+
+    /**
+     * No planted copies.
+     */
+    NONE(0),
+
+    /**
+     * About one planted copy every 100,000 chars.
+     */
+    SPARSE(1e-5),
+
+    /**
+     * About one planted copy every 100 chars.
+     */
+    DENSE(1e-2);
+
+    private final double rate;
+
+    /**
+     * Creates a density.
+     *
+     * @param rate the chance that any given position starts a planted copy
+     */
+    Density(double rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * Gets the chance that any given position starts a planted copy.
+     *
+     * @return the rate
+     */
+    public double rate() {
+        return rate;
+    }
+}
@@ -0,0 +1,36 @@
+package patternmatching.benchmarks;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Sink that only counts matches, so the benchmarks measure searching rather
+ * than collecting results, and allocate nothing per match.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+final class MatchCounter implements IntConsumer {
+
+    private int count;
+
+    @Override
+    public void accept(int index) {
+        count++;
+    }
+
+    /**
+     * Gets the number of matches seen since the last reset.
+     *
+     * @return the count
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Sets the count back to 0.
+     */
+    void reset() {
+        count = 0;
+    }
+}
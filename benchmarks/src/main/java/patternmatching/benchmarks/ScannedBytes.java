@@ -0,0 +1,32 @@
+package patternmatching.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the bytes of text scanned, which JMH reports per second alongside
+ * the ops/s score. Divide by 1,000,000 for MB/s.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ScannedBytes {
+
+    /**
+     * Bytes of text scanned in the current iteration.
+     */
+    public long bytes;
+
+    /**
+     * Resets the count before every iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        bytes = 0;
+    }
+}
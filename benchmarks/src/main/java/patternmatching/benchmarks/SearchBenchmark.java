@@ -0,0 +1,87 @@
+package patternmatching.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import patternmatching.CompiledPattern;
+import patternmatching.SearchAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every {@link SearchAlgorithm} over random text, varying the
+ * text size, alphabet, pattern length and how densely the pattern occurs.
+ *
+ * The text size is in bytes, so a UNICODE text, at two bytes per char, has
+ * half as many chars; this also keeps the 1 GB UNICODE text under the
+ * longest String the JVM can store with two bytes per char. The full matrix
+ * is 1,728 trials. The 1 GB texts need a large heap, e.g.
+ * -jvmArgsAppend -Xmx8g. Run through
+ * {@link BenchmarkMain} to get allocation rates as well. The forks add
+ * jdk.incubator.vector so that VECTORIZED really is vectorized.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SearchBenchmark {
+
+    @Param
+    private SearchAlgorithm algorithm;
+
+    /**
+     * The size of the text in bytes.
+     */
+    @Param({"1024", "1048576", "67108864", "1073741824"})
+    private int textSize;
+
+    @Param
+    private Alphabet alphabet;
+
+    @Param({"4", "16", "64", "256"})
+    private int patternLength;
+
+    @Param
+    private Density density;
+
+    private String text;
+    private CompiledPattern pattern;
+    private final MatchCounter counter = new MatchCounter();
+
+    /**
+     * Generates the text and compiles the pattern once per trial.
+     */
+    @Setup
+    public void setUp() {
+        String p = Workloads.pattern(alphabet, patternLength);
+        text = Workloads.text(alphabet, textSize / alphabet.bytesPerChar(), p, density);
+        pattern = algorithm.compile(p);
+    }
+
+    /**
+     * Searches the whole text, counting matches.
+     *
+     * @param scanned counts the bytes scanned
+     * @return the number of matches, so the search cannot be optimized away
+     */
+    @Benchmark
+    public int search(ScannedBytes scanned) {
+        counter.reset();
+        pattern.search(text, counter);
+        scanned.bytes += textSize;
+        return counter.count();
+    }
+}
@@ -0,0 +1,89 @@
+package patternmatching.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import patternmatching.AlgorithmSelector;
+import patternmatching.SearchAlgorithm;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a one-off query, compiling the pattern and then searching, for the
+ * engines {@link AlgorithmSelector} chooses between, KMP as the linear
+ * baseline, and the selector itself, over random and highly periodic
+ * patterns. The pattern lengths include 64 and 256, where the selector's
+ * thresholds are. This and {@link AlphabetSizeBenchmark} are the runs its
+ * thresholds are calibrated from; rerun them after changing an engine and
+ * compare ADAPTIVE with the best engine per row.
+ *
+ * Each row takes three forks of five 2 s iterations, so the error bars are
+ * narrow enough to tell the engines apart. Run it on an idle machine.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 3, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SelectorBenchmark {
+
+    @Param({"ADAPTIVE", "KMP", "HORSPOOL", "RAITA", "RARE_CHAR", "VECTORIZED", "SHIFT_OR", "TWO_WAY"})
+    private String engine;
+
+    @Param({"256", "65536", "4194304"})
+    private int textSize;
+
+    @Param
+    private Alphabet alphabet;
+
+    @Param({"2", "8", "32", "64", "128", "256", "512"})
+    private int patternLength;
+
+    @Param({"RANDOM", "PERIODIC"})
+    private String shape;
+
+    private String text;
+    private String pattern;
+    private SearchAlgorithm algorithm;
+    private final MatchCounter counter = new MatchCounter();
+
+    /**
+     * Generates the pattern and text once per trial.
+     */
+    @Setup
+    public void setUp() {
+        if ("PERIODIC".equals(shape)) {
+            pattern = Workloads.periodicPattern(alphabet, patternLength);
+            text = Workloads.periodicText(alphabet, textSize, pattern);
+        } else {
+            pattern = Workloads.pattern(alphabet, patternLength);
+            text = Workloads.text(alphabet, textSize, pattern, Density.SPARSE);
+        }
+        algorithm = "ADAPTIVE".equals(engine) ? null : SearchAlgorithm.valueOf(engine);
+    }
+
+    /**
+     * Picks the engine, compiles the pattern and searches the whole text.
+     *
+     * @return the number of matches, so the search cannot be optimized away
+     */
+    @Benchmark
+    public int query() {
+        counter.reset();
+        SearchAlgorithm chosen = algorithm == null ? AlgorithmSelector.select(pattern, text) : algorithm;
+        chosen.compile(pattern).search(text, counter);
+        return counter.count();
+    }
+}
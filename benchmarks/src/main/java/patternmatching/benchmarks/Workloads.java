@@ -0,0 +1,112 @@
+package patternmatching.benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * Generates the random texts and patterns the benchmarks search. Everything
+ * is seeded, so every run and every algorithm sees the same input.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class Workloads {
+
+    private static final long SEED = 1332;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private Workloads() {
+    }
+
+    /**
+     * Builds a random pattern.
+     *
+     * @param alphabet the alphabet to draw from
+     * @param length   the length of the pattern
+     * @return the pattern
+     */
+    public static String pattern(Alphabet alphabet, int length) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt());
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builds a random text with copies of the pattern planted in it.
+     *
+     * @param alphabet the alphabet to draw from
+     * @param length   the length of the text
+     * @param pattern  the pattern to plant
+     * @param density  how often to plant it
+     * @return the text
+     */
+    public static String text(Alphabet alphabet, int length, String pattern, Density density) {
+        SplittableRandom random = new SplittableRandom(SEED + length);
+        char[] chars = new char[length];
+        int i = 0;
+        while (i < length) {
+            if (density.rate() > 0 && random.nextDouble() < density.rate() && i + pattern.length() <= length) {
+                pattern.getChars(0, pattern.length(), chars, i);
+                i += pattern.length();
+            } else {
+                chars[i++] = alphabet.charAt(random.nextInt());
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builds a random string over the first letters from 'a' on, for
+     * sweeping the size of the alphabet.
+     *
+     * @param letters how many letters to draw from
+     * @param length  the length of the string
+     * @param salt    added to the seed, so a pattern and its text differ
+     * @return the string
+     */
+    public static String letters(int letters, int length, long salt) {
+        SplittableRandom random = new SplittableRandom(SEED + salt);
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(letters));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builds a highly periodic pattern, a random two-char unit repeated,
+     * which is the case where Boyer-Moore style shifts stay short.
+     *
+     * @param alphabet the alphabet to draw from
+     * @param length   the length of the pattern
+     * @return the pattern
+     */
+    public static String periodicPattern(Alphabet alphabet, int length) {
+        String unit = pattern(alphabet, 2);
+        return unit.repeat(length / 2 + 1).substring(0, length);
+    }
+
+    /**
+     * Builds a text that repeats the pattern's two-char unit, breaking the
+     * period with a random char every four pattern lengths. Most windows
+     * then match a long way before failing.
+     *
+     * @param alphabet the alphabet to draw from
+     * @param length   the length of the text
+     * @param pattern  a pattern from {@link #periodicPattern}
+     * @return the text
+     */
+    public static String periodicText(Alphabet alphabet, int length, String pattern) {
+        SplittableRandom random = new SplittableRandom(SEED + length);
+        char[] chars = new char[length];
+        int breakEvery = 4 * pattern.length();
+        for (int i = 0; i < length; i++) {
+            chars[i] = i % breakEvery == breakEvery - 1 ? alphabet.charAt(random.nextInt()) : pattern.charAt(i & 1);
+        }
+        return new String(chars);
+    }
+}
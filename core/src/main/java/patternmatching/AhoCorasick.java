@@ -0,0 +1,279 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton that finds every occurrence of many patterns in one
+ * pass over the text.
+ *
+ * The automaton is a trie of the patterns plus, for every state, a failure
+ * link to the state of the longest proper suffix that is also in the trie.
+ * That is the failure table of KMP generalized from one pattern to a trie:
+ * on a mismatch the search follows failure links instead of moving back in
+ * the text. Each state also has a dictionary link to the nearest state on its
+ * failure chain where a pattern ends, so reporting matches never walks states
+ * without output.
+ *
+ * Everything is stored in flat primitive arrays indexed by state. Edges are
+ * kept in compressed rows sorted by char and found by binary search, except
+ * for the root, which has a dense row covering every char since the search
+ * returns to it most often.
+ *
+ * Instances are immutable and may be shared across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class AhoCorasick {
+
+    private static final int NONE = -1;
+
+    private final String[] patterns;
+    private final int[] rootNext;
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] failure;
+    private final int[] dictionaryLink;
+    private final int[] firstOutput;
+    private final int[] nextOutput;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param patterns the patterns, already validated
+     */
+    private AhoCorasick(String[] patterns) {
+        this.patterns = patterns;
+        int maxStates = 1;
+        for (String p : patterns) {
+            maxStates += p.length();
+        }
+
+        // insert every pattern into the trie, keyed by (parent, char)
+        LongIntMap children = new LongIntMap(maxStates, NONE);
+        int[] parent = new int[maxStates];
+        char[] label = new char[maxStates];
+        int[] outputs = new int[maxStates];
+        Arrays.fill(outputs, NONE);
+        nextOutput = new int[patterns.length];
+        int states = 1;
+        // inserting backwards leaves each output chain in increasing id order
+        for (int id = patterns.length - 1; id >= 0; id--) {
+            int state = 0;
+            for (int i = 0; i < patterns[id].length(); i++) {
+                char c = patterns[id].charAt(i);
+                long key = ((long) state << 16) | c;
+                int child = children.get(key);
+                if (child == NONE) {
+                    child = states++;
+                    children.put(key, child);
+                    parent[child] = state;
+                    label[child] = c;
+                }
+                state = child;
+            }
+            nextOutput[id] = outputs[state];
+            outputs[state] = id;
+        }
+        firstOutput = Arrays.copyOf(outputs, states);
+
+        // lay the edges out as rows sorted by char
+        edgeStart = new int[states + 1];
+        for (int s = 1; s < states; s++) {
+            edgeStart[parent[s] + 1]++;
+        }
+        for (int s = 0; s < states; s++) {
+            edgeStart[s + 1] += edgeStart[s];
+        }
+        long[] packed = new long[states - 1];
+        int[] fill = Arrays.copyOf(edgeStart, states);
+        for (int s = 1; s < states; s++) {
+            packed[fill[parent[s]]++] = ((long) label[s] << 32) | s;
+        }
+        edgeChars = new char[states - 1];
+        edgeTargets = new int[states - 1];
+        for (int s = 0; s < states; s++) {
+            Arrays.sort(packed, edgeStart[s], edgeStart[s + 1]);
+        }
+        for (int e = 0; e < packed.length; e++) {
+            edgeChars[e] = (char) (packed[e] >>> 32);
+            edgeTargets[e] = (int) packed[e];
+        }
+        rootNext = new int[Character.MAX_VALUE + 1];
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            rootNext[edgeChars[e]] = edgeTargets[e];
+        }
+
+        // breadth first, so every failure link points to a finished state
+        failure = new int[states];
+        dictionaryLink = new int[states];
+        dictionaryLink[0] = NONE;
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+            int child = edgeTargets[e];
+            failure[child] = 0;
+            dictionaryLink[child] = NONE;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+                int fail = next(failure[state], edgeChars[e]);
+                failure[child] = fail;
+                dictionaryLink[child] = firstOutput[fail] != NONE ? fail : dictionaryLink[fail];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * Compiles the patterns into an automaton. Each pattern's id is its index
+     * in the list.
+     *
+     * @param patterns the patterns you will be searching for
+     * @return the automaton
+     * @throws java.lang.IllegalArgumentException if the list is null or empty,
+     *                                            or any pattern is null or
+     *                                            has length 0
+     */
+    public static AhoCorasick compile(List<? extends CharSequence> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new java.lang.IllegalArgumentException("patterns cannot be null or empty");
+        }
+        String[] copy = new String[patterns.size()];
+        for (int i = 0; i < copy.length; i++) {
+            CharSequence pattern = patterns.get(i);
+            if (pattern == null || pattern.length() == 0) {
+                throw new java.lang.IllegalArgumentException("pattern " + i
+                        + " cannot be null or empty (length is 0)");
+            }
+            copy[i] = pattern.toString();
+        }
+        return new AhoCorasick(copy);
+    }
+
+    /**
+     * Gets the number of patterns in the automaton.
+     *
+     * @return the number of patterns
+     */
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * Gets a pattern by id.
+     *
+     * @param patternId the id of the pattern
+     * @return the pattern
+     * @throws java.lang.IndexOutOfBoundsException if there is no pattern with
+     *                                             that id
+     */
+    public String pattern(int patternId) {
+        return patterns[patternId];
+    }
+
+    /**
+     * Gets the number of states in the automaton, including the root.
+     *
+     * @return the number of states
+     */
+    public int stateCount() {
+        return failure.length;
+    }
+
+    /**
+     * Searches for every occurrence of every pattern in the text.
+     *
+     * Matches are ordered by the index where they end. Matches that end at
+     * the same index are ordered longest pattern first, and duplicate
+     * patterns by increasing id.
+     *
+     * @param text the body of text where you search for the patterns
+     * @return list containing every match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public List<MultiMatch> search(CharSequence text) {
+        List<MultiMatch> list = new ArrayList<>();
+        search(text, (patternId, startIndex) -> list.add(new MultiMatch(patternId, startIndex)));
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of every pattern in the text and passes
+     * each one to the consumer, in the same order as
+     * {@link #search(CharSequence)}.
+     *
+     * @param text     the body of text where you search for the patterns
+     * @param consumer receives the pattern id and start index of each match
+     * @throws java.lang.IllegalArgumentException if text or consumer is null
+     */
+    public void search(CharSequence text, MultiMatchConsumer consumer) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (consumer == null) {
+            throw new java.lang.IllegalArgumentException("consumer cannot be null");
+        }
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, text.charAt(i));
+            int out = firstOutput[state] != NONE ? state : dictionaryLink[state];
+            while (out != NONE) {
+                for (int id = firstOutput[out]; id != NONE; id = nextOutput[id]) {
+                    consumer.accept(id, i - patterns[id].length() + 1);
+                }
+                out = dictionaryLink[out];
+            }
+        }
+    }
+
+    /**
+     * Finds the state the automaton moves to from a state on a char,
+     * following failure links until some state has an edge for the char.
+     *
+     * @param state the current state
+     * @param c     the next char of the text
+     * @return the next state, the root if no suffix can be extended
+     */
+    private int next(int state, char c) {
+        while (state != 0) {
+            int child = edge(state, c);
+            if (child != NONE) {
+                return child;
+            }
+            state = failure[state];
+        }
+        return rootNext[c];
+    }
+
+    /**
+     * Looks up the edge out of a non-root state by binary search over its
+     * sorted row.
+     *
+     * @param state the state, not the root
+     * @param c     the char of the edge
+     * @return the target of the edge, or NONE if there is no such edge
+     */
+    private int edge(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,147 @@
+package patternmatching;
+
+/**
+ * Picks the {@link SearchAlgorithm} for a single query, so callers need not
+ * know which engine suits their pattern and text. This is what
+ * {@link PatternMatching#search(CharSequence, CharSequence)} dispatches
+ * through; call {@link #select} directly to see which engine a query would
+ * use.
+ *
+ * The choice looks at the pattern length, whether any of its chars is
+ * outside Latin-1, the period of the pattern from its failure table, the
+ * text length, how many distinct chars a sample of the text has, and whether
+ * the Vector API is available. The thresholds come from SelectorBenchmark in
+ * the benchmarks module, which times compiling plus searching for every
+ * engine over DNA, ASCII and Unicode text of 256 chars to 4M chars; its
+ * results are in benchmarks/results/SelectorBenchmark.csv:
+ *
+ * - Periodic patterns, with a period of at most half their length, make the
+ *   Boyer-Moore family compare most of the pattern at every short shift.
+ *   On 64K chars of text and more they are 1.6 to 4.4 times slower than the
+ *   faster of Shift-Or and Two-Way at 8 chars, 3 to 13 times at 32 and 128
+ *   chars, and 25 to 184 times at 512 chars. Shift-Or is fastest up to
+ *   64 chars, Two-Way beyond.
+ * - Over a small alphabet such as DNA, Shift-Or is fastest up to 64 chars;
+ *   longer patterns shift far enough for the SIMD prefilter and then, from
+ *   256 chars, for Raita.
+ * - Over a larger alphabet, the SIMD prefilter is fastest, or without it the
+ *   rare-char scan, until Raita's long shifts win at 64 chars.
+ * - Patterns with chars outside Latin-1 miss the dense shift tables, so the
+ *   rare-char scan wins until Horspool's shifts do at 256 chars.
+ * - On texts under 4K chars, building tables costs as much as the scan, so
+ *   the prefilter, which needs none, wins on small alphabets too.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class AlgorithmSelector {
+
+    /**
+     * Texts with at most this many distinct chars in their sample count as
+     * small-alphabet, which leaves room for DNA with N and newlines.
+     */
+    static final int SMALL_ALPHABET = 8;
+
+    /**
+     * How many chars at the start of the text are sampled for its alphabet.
+     */
+    static final int ALPHABET_SAMPLE = 1024;
+
+    /**
+     * Texts shorter than this are dominated by compiling the pattern.
+     */
+    static final int SHORT_TEXT = 4096;
+
+    /**
+     * The longest pattern for single-word Shift-Or.
+     */
+    static final int SHIFT_OR_LENGTH = Long.SIZE;
+
+    /**
+     * Large-alphabet patterns this long or longer go to Raita.
+     */
+    static final int LONG_PATTERN = 64;
+
+    /**
+     * Small-alphabet and wide patterns this long or longer go to Raita or
+     * Horspool.
+     */
+    static final int VERY_LONG_PATTERN = 256;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private AlgorithmSelector() {
+    }
+
+    /**
+     * Picks the algorithm that should be fastest for searching the text for
+     * the pattern, comparing chars exactly.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return the algorithm to search with
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static SearchAlgorithm select(CharSequence pattern, CharSequence text) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        int m = pattern.length();
+        int n = text.length();
+        if (m > n) {
+            // nothing to scan, so pick the engine that builds no tables
+            return SearchAlgorithm.TWO_WAY;
+        }
+        int[] failureTable = KmpPattern.buildFailureTable(pattern);
+        int period = m - failureTable[m - 1];
+        if (2 * period <= m) {
+            return m <= SHIFT_OR_LENGTH ? SearchAlgorithm.SHIFT_OR : SearchAlgorithm.TWO_WAY;
+        }
+        for (int i = 0; i < m; i++) {
+            if (pattern.charAt(i) >= CharIntTable.DENSE_SIZE) {
+                return m < VERY_LONG_PATTERN ? SearchAlgorithm.RARE_CHAR : SearchAlgorithm.HORSPOOL;
+            }
+        }
+        boolean vectorized = VectorizedPattern.isVectorApiAvailable();
+        int distinct = distinctChars(text, Math.min(n, ALPHABET_SAMPLE));
+        if (distinct <= SMALL_ALPHABET) {
+            if (n < SHORT_TEXT) {
+                return vectorized ? SearchAlgorithm.VECTORIZED : SearchAlgorithm.HORSPOOL;
+            } else if (m <= SHIFT_OR_LENGTH) {
+                return SearchAlgorithm.SHIFT_OR;
+            }
+            return vectorized && m < VERY_LONG_PATTERN ? SearchAlgorithm.VECTORIZED : SearchAlgorithm.RAITA;
+        } else if (m < LONG_PATTERN) {
+            return vectorized ? SearchAlgorithm.VECTORIZED : SearchAlgorithm.RARE_CHAR;
+        }
+        return SearchAlgorithm.RAITA;
+    }
+
+    /**
+     * Counts the distinct chars at the start of the text.
+     *
+     * @param text   the text
+     * @param length how many chars to look at
+     * @return the number of distinct chars, counting every char outside
+     *         Latin-1 as new
+     */
+    private static int distinctChars(CharSequence text, int length) {
+        boolean[] seen = new boolean[CharIntTable.DENSE_SIZE];
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= CharIntTable.DENSE_SIZE) {
+                distinct++;
+            } else if (!seen[c]) {
+                seen[c] = true;
+                distinct++;
+            }
+        }
+        return distinct;
+    }
+}
@@ -0,0 +1,222 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Searches many documents for one compiled pattern concurrently, so the
+ * tables built when the pattern was compiled are shared by the whole batch.
+ *
+ * Each document is searched as its own task, on a new virtual thread by
+ * default or on the executor given, such as a bounded thread pool. With
+ * maxInFlight set, no more than that many documents are submitted but not
+ * yet searched; the caller blocks until one finishes, so a long stream of
+ * documents is never queued all at once.
+ *
+ * Instances are immutable and may be shared freely across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class BatchSearch {
+
+    private final CompiledPattern pattern;
+    private final Executor executor;
+    private final int maxInFlight;
+
+    /**
+     * Creates a batch search that runs each document on a virtual thread,
+     * with no limit on the documents in flight.
+     *
+     * @param pattern the compiled pattern to search for
+     * @throws java.lang.IllegalArgumentException if pattern is null
+     */
+    public BatchSearch(CompiledPattern pattern) {
+        this(pattern, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a batch search.
+     *
+     * @param pattern     the compiled pattern to search for
+     * @param executor    runs the search of each document, or null for a new
+     *                    virtual thread per document
+     * @param maxInFlight the most documents submitted but not yet searched
+     * @throws java.lang.IllegalArgumentException if pattern is null
+     * @throws java.lang.IllegalArgumentException if maxInFlight is less than 1
+     */
+    public BatchSearch(CompiledPattern pattern, Executor executor, int maxInFlight) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        } else if (maxInFlight < 1) {
+            throw new java.lang.IllegalArgumentException("maxInFlight cannot be less than 1");
+        }
+        this.pattern = pattern;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Gets the compiled pattern this search runs.
+     *
+     * @return the compiled pattern
+     */
+    public CompiledPattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * Searches every document, keeping the results in the order of the
+     * documents.
+     *
+     * @param documents the documents to search
+     * @return the matches of each document, at the index of the document
+     * @throws java.lang.IllegalArgumentException if documents or any of its
+     *                                            elements is null
+     * @throws InterruptedException               if interrupted while waiting
+     *                                            for the searches
+     */
+    public List<List<Integer>> search(Collection<? extends CharSequence> documents) throws InterruptedException {
+        if (documents == null) {
+            throw new java.lang.IllegalArgumentException("documents cannot be null");
+        }
+        AtomicReferenceArray<List<Integer>> results = new AtomicReferenceArray<>(documents.size());
+        run(documents.iterator(), (document, matches) -> results.set((int) document, matches));
+        List<List<Integer>> list = new ArrayList<>(results.length());
+        for (int i = 0; i < results.length(); i++) {
+            list.add(results.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * Searches every document, keying the results by the key of each
+     * document.
+     *
+     * @param documents the documents to search, by key
+     * @param <K>       the type of the keys
+     * @return the matches of each document, in the iteration order of the
+     *         documents
+     * @throws java.lang.IllegalArgumentException if documents or any of its
+     *                                            values is null
+     * @throws InterruptedException               if interrupted while waiting
+     *                                            for the searches
+     */
+    public <K> Map<K, List<Integer>> search(Map<K, ? extends CharSequence> documents) throws InterruptedException {
+        if (documents == null) {
+            throw new java.lang.IllegalArgumentException("documents cannot be null");
+        }
+        List<K> keys = new ArrayList<>(documents.keySet());
+        List<List<Integer>> results = search(documents.values());
+        Map<K, List<Integer>> map = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), results.get(i));
+        }
+        return map;
+    }
+
+    /**
+     * Searches every document of a stream, which may be too long to keep in
+     * memory, passing the matches of each document to the sink as soon as
+     * it has been searched. The sink is called from the worker threads, one
+     * call at a time, in the order the searches finish.
+     *
+     * @param documents the documents to search
+     * @param sink      receives the index and matches of each document
+     * @throws java.lang.IllegalArgumentException if documents, any of its
+     *                                            elements or sink is null
+     * @throws InterruptedException               if interrupted while waiting
+     *                                            for the searches
+     */
+    public void search(Stream<? extends CharSequence> documents, DocumentMatchConsumer sink)
+            throws InterruptedException {
+        if (documents == null) {
+            throw new java.lang.IllegalArgumentException("documents cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        Object lock = new Object();
+        run(documents.iterator(), (document, matches) -> {
+            synchronized (lock) {
+                sink.accept(document, matches);
+            }
+        });
+    }
+
+    /**
+     * Submits the search of every document and waits for all of them.
+     *
+     * If a search throws an exception or error, or submitting stops early
+     * because the executor rejects a search, the documents cannot be read
+     * or the caller is interrupted, the searches not yet started are
+     * skipped. The running ones are waited for before the first failure is
+     * rethrown, so none of them writes a result or calls the sink after
+     * this returns.
+     *
+     * @param documents the documents to search
+     * @param sink      receives the index and matches of each document
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private void run(Iterator<? extends CharSequence> documents, DocumentMatchConsumer sink)
+            throws InterruptedException {
+        ExecutorService owned = executor == null ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        Executor target = owned == null ? executor : owned;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            long document = 0;
+            while (documents.hasNext() && failure.get() == null) {
+                CharSequence text = documents.next();
+                long index = document++;
+                inFlight.acquire();
+                try {
+                    target.execute(() -> {
+                        try {
+                            // a failed batch skips the searches not yet started
+                            if (failure.get() == null) {
+                                sink.accept(index, pattern.search(text));
+                            }
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } catch (RuntimeException | Error e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+            // every permit is back once every search has finished
+            inFlight.acquire(maxInFlight);
+        } catch (InterruptedException | RuntimeException | Error e) {
+            failure.compareAndSet(null, e);
+            inFlight.acquireUninterruptibly(maxInFlight);
+            throw e;
+        } finally {
+            if (owned != null) {
+                owned.close();
+            }
+        }
+        Throwable thrown = failure.get();
+        if (thrown instanceof RuntimeException) {
+            throw (RuntimeException) thrown;
+        } else if (thrown instanceof Error) {
+            throw (Error) thrown;
+        } else if (thrown != null) {
+            throw new CompletionException(thrown);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled full Boyer-Moore pattern, using both the bad character rule and
+ * the strong good suffix rule, plus the Galil rule.
+ *
+ * The good suffix rule lets periodic patterns slide past text that is already
+ * known to match, and the Galil rule skips re-comparing the part of the
+ * pattern that the previous match already proved. Together they bound the
+ * search to O(n + m) comparisons no matter the input, where
+ * {@link BoyerMoorePattern} degrades to O(nm) on periodic text such as
+ * "aaaa...".
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class BoyerMooreGalilPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharIntTable lastTable;
+    private final int[] goodSuffixTable;
+
+    /**
+     * Creates a compiled pattern, building both tables over its canonical
+     * form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private BoyerMooreGalilPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.lastTable = CharIntTable.lastOccurrence(canonical);
+        this.goodSuffixTable = buildGoodSuffixTable(canonical);
+    }
+
+    /**
+     * Compiles the pattern, building its last occurrence and good suffix
+     * tables.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static BoyerMooreGalilPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static BoyerMooreGalilPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new BoyerMooreGalilPattern(pattern.toString(), equivalence);
+    }
+
+    /**
+     * Builds the strong good suffix table.
+     *
+     * The table has length m + 1. Entry j + 1 is how far the pattern may
+     * slide after the suffix starting at j + 1 matched and index j did not:
+     * the smallest shift that lines the matched suffix up with another
+     * occurrence of it in the pattern that is not preceded by the same char,
+     * or else with the longest prefix of the pattern that is a suffix of it.
+     * Entry 0 is the shift after a full match, which is the period of the
+     * pattern.
+     *
+     * Ex. pattern = abab
+     *
+     * table[0] = 2
+     * table[1] = 2
+     * table[2] = 2
+     * table[3] = 4
+     * table[4] = 1
+     *
+     * @param pattern a pattern you're building a good suffix table for
+     * @return integer array holding the good suffix table
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    static int[] buildGoodSuffixTable(CharSequence pattern) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        }
+        int m = pattern.length();
+        int[] shift = new int[m + 1];
+        // border[i] is the start of the widest border of the suffix at i
+        int[] border = new int[m + 1];
+        int i = m;
+        int j = m + 1;
+        border[i] = j;
+        while (i > 0) {
+            while (j <= m && pattern.charAt(i - 1) != pattern.charAt(j - 1)) {
+                if (shift[j] == 0) {
+                    shift[j] = j - i;
+                }
+                j = border[j];
+            }
+            i--;
+            j--;
+            border[i] = j;
+        }
+        // suffixes with no other occurrence fall back to a prefix border
+        j = border[0];
+        for (i = 0; i <= m; i++) {
+            if (shift[i] == 0) {
+                shift[i] = j;
+            }
+            if (i == j) {
+                j = border[j];
+            }
+        }
+        return shift;
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the period of the pattern, which is how far it slides after a
+     * match.
+     *
+     * @return the period, between 1 and the pattern length
+     */
+    public int period() {
+        return goodSuffixTable[0];
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = canonical.length();
+        int period = goodSuffixTable[0];
+        int startIndex = 0;
+        // Galil rule: pattern indices below known already matched the text
+        int known = 0;
+        while (startIndex <= text.length() - m) {
+            int patIndex = m - 1;
+            while (patIndex >= known
+                    && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex--;
+            }
+            if (patIndex < known) {
+                sink.accept(startIndex);
+                startIndex += period;
+                known = m - period;
+            } else {
+                int badChar = patIndex - lastTable.get(equivalence.canonical(text.charAt(startIndex + patIndex)));
+                startIndex += Math.max(goodSuffixTable[patIndex + 1], badChar);
+                known = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+
+/**
+ * Precompiled Boyer-Moore pattern. The last occurrence table is built once
+ * when the pattern is compiled and reused by every search.
+ *
+ * The table is a {@link CharIntTable}, so looking up the mismatched char is
+ * an array index for Latin-1 patterns and a primitive hash probe otherwise.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class BoyerMoorePattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharIntTable lastTable;
+
+    /**
+     * Creates a compiled pattern, building the last occurrence table of its
+     * canonical form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private BoyerMoorePattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.lastTable = CharIntTable.lastOccurrence(canonical);
+    }
+
+    /**
+     * Compiles the pattern, building its last occurrence table.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static BoyerMoorePattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static BoyerMoorePattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new BoyerMoorePattern(pattern.toString(), equivalence);
+    }
+
+    /**
+     * Creates a matcher for a stream of chars that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public BoyerMooreStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new BoyerMooreStreamMatcher(canonical, equivalence, lastTable, sink);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the last occurrence table of the canonical pattern.
+     *
+     * @return the last occurrence table
+     */
+    public CharIntTable lastTable() {
+        return lastTable;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, equivalence, true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public void searchNonOverlapping(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, equivalence, false, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public int indexOf(CharSequence text, int fromIndex) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (fromIndex < 0) {
+            throw new java.lang.IllegalArgumentException("fromIndex cannot be negative");
+        }
+        int[] first = {-1};
+        scan(text, fromIndex, equivalence, true, index -> {
+            first[0] = index;
+            return false;
+        });
+        return first[0];
+    }
+
+    @Override
+    public int count(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return scan(text, 0, equivalence, true, index -> true);
+    }
+
+    @Override
+    public List<Integer> findFirst(CharSequence text, int limit) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (limit < 0) {
+            throw new java.lang.IllegalArgumentException("limit cannot be negative");
+        }
+        List<Integer> list = new ArrayList<>();
+        if (limit > 0) {
+            scan(text, 0, equivalence, true, index -> {
+                list.add(index);
+                return list.size() < limit;
+            });
+        }
+        return list;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt matches(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return new MatchIterator(text);
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal. The comparator is given
+     * canonical chars, so it counts comparisons under the equivalence.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public List<Integer> search(CharSequence text, CharacterComparator comparator) {
+        List<Integer> list = new ArrayList<>();
+        search(text, comparator, list::add);
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal, and passes the starting
+     * index of each match to the sink.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public void search(CharSequence text, CharacterComparator comparator, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, new ComparingCharEquivalence(equivalence, comparator), true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    /**
+     * Runs the Boyer-Moore scan every search of this pattern shares, from the
+     * given index to the end of the text or until the sink asks it to stop.
+     *
+     * @param text        the body of text where you search for the pattern
+     * @param fromIndex   the smallest starting index to report
+     * @param equivalence decides which chars are equal
+     * @param overlapping whether the next match may start inside the last
+     *                    one, or only after it
+     * @param sink        receives the starting index of each match, in
+     *                    order, and returns false to stop the scan
+     * @return the number of matches passed to the sink
+     */
+    private int scan(CharSequence text, int fromIndex, CharEquivalence equivalence, boolean overlapping,
+            IntPredicate sink) {
+        int m = canonical.length();
+        int count = 0;
+        int startIndex = fromIndex;
+        while (startIndex <= text.length() - m) {
+            int patIndex = m - 1;
+            while (patIndex >= 0
+                    && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                count++;
+                if (!sink.test(startIndex)) {
+                    return count;
+                }
+                startIndex += overlapping ? 1 : m;
+            } else {
+                startIndex += shift(text.charAt(startIndex + patIndex), patIndex);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Computes how far the pattern can slide after a mismatch.
+     *
+     * @param mismatched the text char that did not match
+     * @param patIndex   the index in the pattern where the mismatch happened
+     * @return the shift, always at least 1
+     */
+    private int shift(char mismatched, int patIndex) {
+        int shiftIndex = lastTable.get(equivalence.canonical(mismatched));
+        if (shiftIndex < patIndex) {
+            return patIndex - shiftIndex;
+        }
+        return 1;
+    }
+
+    /**
+     * Lazy Boyer-Moore search, holding the start of the next window to check.
+     * Each call runs the shared scan until it reports one match.
+     */
+    private final class MatchIterator extends LazyMatchIterator implements IntPredicate {
+
+        private final CharSequence text;
+        private int startIndex;
+        private int match;
+
+        /**
+         * Creates an iterator at the start of the text.
+         *
+         * @param text the body of text where you search for the pattern
+         */
+        private MatchIterator(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        int findNext() {
+            match = -1;
+            scan(text, startIndex, equivalence, true, this);
+            if (match >= 0) {
+                startIndex = match + 1;
+            }
+            return match;
+        }
+
+        @Override
+        public boolean test(int index) {
+            match = index;
+            return false;
+        }
+    }
+}
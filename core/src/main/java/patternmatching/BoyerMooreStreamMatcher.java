@@ -0,0 +1,102 @@
+package patternmatching;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Boyer-Moore with the last occurrence table. The last m - 1 chars
+ * of the stream are carried over to the next chunk, m being the pattern
+ * length, and the windows that straddle the boundary are examined across the
+ * carry-over and the new chunk. Memory stays O(m) however long the stream
+ * is. Created by {@link BoyerMoorePattern#streamMatcher}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class BoyerMooreStreamMatcher implements StreamMatcher {
+
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharIntTable lastTable;
+    private final LongConsumer sink;
+    private final char[] carry;
+    private int carryLength;
+    private int nextStart;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param canonical   the canonical pattern
+     * @param equivalence decides which chars are equal
+     * @param lastTable   the last occurrence table of the canonical pattern
+     * @param sink        receives the offset of each match
+     */
+    BoyerMooreStreamMatcher(String canonical, CharEquivalence equivalence, CharIntTable lastTable,
+                            LongConsumer sink) {
+        this.canonical = canonical;
+        this.equivalence = equivalence;
+        this.lastTable = lastTable;
+        this.sink = sink;
+        this.carry = new char[canonical.length() - 1];
+    }
+
+    @Override
+    public void feed(CharSequence chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        int m = canonical.length();
+        // indices below are into the carry-over followed by the chunk
+        int total = carryLength + chunk.length();
+        long base = position - carryLength;
+        int startIndex = nextStart;
+        while (startIndex <= total - m) {
+            int patIndex = m - 1;
+            while (patIndex >= 0
+                    && equivalence.equivalent(charAt(chunk, startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                sink.accept(base + startIndex);
+                startIndex++;
+            } else {
+                int shiftIndex = lastTable.get(equivalence.canonical(charAt(chunk, startIndex + patIndex)));
+                startIndex += shiftIndex < patIndex ? patIndex - shiftIndex : 1;
+            }
+        }
+        int keepFrom = Math.max(0, total - carry.length);
+        if (keepFrom < carryLength) {
+            System.arraycopy(carry, keepFrom, carry, 0, carryLength - keepFrom);
+        }
+        int kept = Math.max(0, carryLength - keepFrom);
+        for (int i = Math.max(0, keepFrom - carryLength); i < chunk.length(); i++) {
+            carry[kept++] = chunk.charAt(i);
+        }
+        carryLength = kept;
+        nextStart = startIndex - keepFrom;
+        position += chunk.length();
+    }
+
+    /**
+     * Gets a char of the carry-over followed by the chunk.
+     *
+     * @param chunk the chunk being fed
+     * @param index the index into the carry-over followed by the chunk
+     * @return the char at the index
+     */
+    private char charAt(CharSequence chunk, int index) {
+        return index < carryLength ? carry[index] : chunk.charAt(index - carryLength);
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        carryLength = 0;
+        nextStart = 0;
+        position = 0;
+    }
+}
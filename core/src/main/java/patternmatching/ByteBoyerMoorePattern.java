@@ -0,0 +1,155 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Boyer-Moore over bytes with the last occurrence table only. Works like
+ * {@link BoyerMoorePattern}; since a byte has just 256 values the table is
+ * always a plain int[256] indexed by the unsigned byte.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteBoyerMoorePattern implements BytePattern {
+
+    private final byte[] pattern;
+    private final int[] lastTable;
+
+    /**
+     * Creates a compiled pattern, building its last occurrence table.
+     *
+     * @param pattern the pattern, which is not copied
+     */
+    private ByteBoyerMoorePattern(byte[] pattern) {
+        this.pattern = pattern;
+        this.lastTable = buildLastTable(pattern);
+    }
+
+    /**
+     * Compiles the pattern, building its last occurrence table.
+     *
+     * @param pattern the bytes you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ByteBoyerMoorePattern compile(byte[] pattern) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        }
+        return new ByteBoyerMoorePattern(pattern.clone());
+    }
+
+    /**
+     * Builds the last occurrence table of a byte pattern. Entry b is the last
+     * index of the unsigned byte b in the pattern, or -1 if it is not in it.
+     *
+     * @param pattern the pattern
+     * @return the last occurrence table, of length 256
+     */
+    static int[] buildLastTable(byte[] pattern) {
+        int[] lastTable = new int[256];
+        Arrays.fill(lastTable, -1);
+        for (int i = 0; i < pattern.length; i++) {
+            lastTable[pattern[i] & 0xFF] = i;
+        }
+        return lastTable;
+    }
+
+    /**
+     * Creates a matcher for a stream of bytes that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public ByteBoyerMooreStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new ByteBoyerMooreStreamMatcher(pattern, lastTable, sink);
+    }
+
+    @Override
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int length() {
+        return pattern.length;
+    }
+
+    @Override
+    public void search(byte[] text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        search(text, 0, text.length, 0, sink);
+    }
+
+    @Override
+    public void search(ByteBuffer text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            search(text.array(), offset + text.position(), offset + text.limit(), offset, sink);
+            return;
+        }
+        int m = pattern.length;
+        int end = text.limit();
+        int startIndex = text.position();
+        while (startIndex <= end - m) {
+            int patIndex = m - 1;
+            while (patIndex >= 0 && text.get(startIndex + patIndex) == pattern[patIndex]) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                sink.accept(startIndex);
+                startIndex++;
+            } else {
+                int shiftIndex = lastTable[text.get(startIndex + patIndex) & 0xFF];
+                startIndex += shiftIndex < patIndex ? patIndex - shiftIndex : 1;
+            }
+        }
+    }
+
+    /**
+     * Searches text[from, to) and passes each match index minus the offset
+     * to the sink.
+     *
+     * @param text   the bytes where you search for the pattern
+     * @param from   the first index to search
+     * @param to     one past the last index to search
+     * @param offset subtracted from every match index
+     * @param sink   receives the index of each match, in order
+     */
+    private void search(byte[] text, int from, int to, int offset, IntConsumer sink) {
+        int m = pattern.length;
+        int startIndex = from;
+        while (startIndex <= to - m) {
+            int patIndex = m - 1;
+            while (patIndex >= 0 && text[startIndex + patIndex] == pattern[patIndex]) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                sink.accept(startIndex - offset);
+                startIndex++;
+            } else {
+                int shiftIndex = lastTable[text[startIndex + patIndex] & 0xFF];
+                startIndex += shiftIndex < patIndex ? patIndex - shiftIndex : 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Boyer-Moore over bytes. Works like
+ * {@link BoyerMooreStreamMatcher}, carrying the last m - 1 bytes over to the
+ * next chunk; created by {@link ByteBoyerMoorePattern#streamMatcher}.
+ *
+ * A buffer without an accessible array is copied through a fixed scratch
+ * array, so memory stays O(m) for those too.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteBoyerMooreStreamMatcher implements ByteStreamMatcher {
+
+    private static final int SCRATCH_SIZE = 8192;
+
+    private final byte[] pattern;
+    private final int[] lastTable;
+    private final LongConsumer sink;
+    private final byte[] carry;
+    private byte[] scratch;
+    private int carryLength;
+    private int nextStart;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param pattern   the pattern
+     * @param lastTable the last occurrence table of the pattern
+     * @param sink      receives the offset of each match
+     */
+    ByteBoyerMooreStreamMatcher(byte[] pattern, int[] lastTable, LongConsumer sink) {
+        this.pattern = pattern;
+        this.lastTable = lastTable;
+        this.sink = sink;
+        this.carry = new byte[pattern.length - 1];
+    }
+
+    @Override
+    public void feed(byte[] chunk, int offset, int length) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        Objects.checkFromIndexSize(offset, length, chunk.length);
+        int m = pattern.length;
+        // indices below are into the carry-over followed by the chunk
+        int total = carryLength + length;
+        long base = position - carryLength;
+        int startIndex = nextStart;
+        while (startIndex <= total - m) {
+            int patIndex = m - 1;
+            while (patIndex >= 0 && byteAt(chunk, offset, startIndex + patIndex) == pattern[patIndex]) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                sink.accept(base + startIndex);
+                startIndex++;
+            } else {
+                int shiftIndex = lastTable[byteAt(chunk, offset, startIndex + patIndex) & 0xFF];
+                startIndex += shiftIndex < patIndex ? patIndex - shiftIndex : 1;
+            }
+        }
+        int keepFrom = Math.max(0, total - carry.length);
+        if (keepFrom < carryLength) {
+            System.arraycopy(carry, keepFrom, carry, 0, carryLength - keepFrom);
+        }
+        int kept = Math.max(0, carryLength - keepFrom);
+        int from = Math.max(0, keepFrom - carryLength);
+        System.arraycopy(chunk, offset + from, carry, kept, length - from);
+        carryLength = kept + length - from;
+        nextStart = startIndex - keepFrom;
+        position += length;
+    }
+
+    @Override
+    public void feed(ByteBuffer chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        if (chunk.hasArray()) {
+            feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+            return;
+        }
+        if (scratch == null) {
+            scratch = new byte[SCRATCH_SIZE];
+        }
+        while (chunk.hasRemaining()) {
+            int length = Math.min(scratch.length, chunk.remaining());
+            chunk.get(scratch, 0, length);
+            feed(scratch, 0, length);
+        }
+    }
+
+    /**
+     * Gets a byte of the carry-over followed by the chunk.
+     *
+     * @param chunk  the array holding the chunk being fed
+     * @param offset the index of the chunk in the array
+     * @param index  the index into the carry-over followed by the chunk
+     * @return the byte at the index
+     */
+    private byte byteAt(byte[] chunk, int offset, int index) {
+        return index < carryLength ? carry[index] : chunk[offset + index - carryLength];
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        carryLength = 0;
+        nextStart = 0;
+        position = 0;
+    }
+}
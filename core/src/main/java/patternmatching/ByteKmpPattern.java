@@ -0,0 +1,169 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Knuth-Morris-Pratt over bytes. Works like {@link KmpPattern}, with the
+ * failure table built from the bytes of the pattern.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteKmpPattern implements BytePattern {
+
+    private final byte[] pattern;
+    private final int[] failureTable;
+
+    /**
+     * Creates a compiled pattern, building its failure table.
+     *
+     * @param pattern the pattern, which is not copied
+     */
+    private ByteKmpPattern(byte[] pattern) {
+        this.pattern = pattern;
+        this.failureTable = buildFailureTable(pattern);
+    }
+
+    /**
+     * Compiles the pattern, building its failure table.
+     *
+     * @param pattern the bytes you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ByteKmpPattern compile(byte[] pattern) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        }
+        return new ByteKmpPattern(pattern.clone());
+    }
+
+    /**
+     * Builds the failure table of a byte pattern. The layout is the same as
+     * in {@link PatternMatching#buildFailureTable}.
+     *
+     * @param pattern a pattern you're building a failure table for
+     * @return integer array holding the failure table
+     */
+    static int[] buildFailureTable(byte[] pattern) {
+        int[] failureTable = new int[pattern.length];
+        int prefIndex = 0;
+        int tabIndex = 1;
+        while (tabIndex < pattern.length) {
+            if (pattern[tabIndex] == pattern[prefIndex]) {
+                failureTable[tabIndex] = prefIndex + 1;
+                prefIndex++;
+                tabIndex++;
+            } else if (prefIndex == 0) {
+                failureTable[tabIndex] = 0;
+                tabIndex++;
+            } else {
+                prefIndex = failureTable[prefIndex - 1];
+            }
+        }
+        return failureTable;
+    }
+
+    /**
+     * Creates a matcher for a stream of bytes that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public ByteKmpStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new ByteKmpStreamMatcher(pattern, failureTable, sink);
+    }
+
+    @Override
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int length() {
+        return pattern.length;
+    }
+
+    @Override
+    public void search(byte[] text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        search(text, 0, text.length, 0, sink);
+    }
+
+    @Override
+    public void search(ByteBuffer text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            search(text.array(), offset + text.position(), offset + text.limit(), offset, sink);
+            return;
+        }
+        int m = pattern.length;
+        int end = text.limit();
+        int textIndex = text.position();
+        int patIndex = 0;
+        while (textIndex - patIndex <= end - m) {
+            if (text.get(textIndex) == pattern[patIndex]) {
+                if (patIndex == m - 1) {
+                    sink.accept(textIndex - patIndex);
+                    patIndex = failureTable[patIndex];
+                } else {
+                    patIndex++;
+                }
+                textIndex++;
+            } else if (patIndex == 0) {
+                textIndex++;
+            } else {
+                patIndex = failureTable[patIndex - 1];
+            }
+        }
+    }
+
+    /**
+     * Searches text[from, to) and passes each match index minus the offset
+     * to the sink.
+     *
+     * @param text   the bytes where you search for the pattern
+     * @param from   the first index to search
+     * @param to     one past the last index to search
+     * @param offset subtracted from every match index
+     * @param sink   receives the index of each match, in order
+     */
+    private void search(byte[] text, int from, int to, int offset, IntConsumer sink) {
+        int m = pattern.length;
+        int textIndex = from;
+        int patIndex = 0;
+        while (textIndex - patIndex <= to - m) {
+            if (text[textIndex] == pattern[patIndex]) {
+                if (patIndex == m - 1) {
+                    sink.accept(textIndex - patIndex - offset);
+                    patIndex = failureTable[patIndex];
+                } else {
+                    patIndex++;
+                }
+                textIndex++;
+            } else if (patIndex == 0) {
+                textIndex++;
+            } else {
+                patIndex = failureTable[patIndex - 1];
+            }
+        }
+    }
+}
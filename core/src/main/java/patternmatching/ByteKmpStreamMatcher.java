@@ -0,0 +1,102 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Knuth-Morris-Pratt over bytes. Works like
+ * {@link KmpStreamMatcher}; created by {@link ByteKmpPattern#streamMatcher}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteKmpStreamMatcher implements ByteStreamMatcher {
+
+    private final byte[] pattern;
+    private final int[] failureTable;
+    private final LongConsumer sink;
+    private int patIndex;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param pattern      the pattern
+     * @param failureTable the failure table of the pattern
+     * @param sink         receives the offset of each match
+     */
+    ByteKmpStreamMatcher(byte[] pattern, int[] failureTable, LongConsumer sink) {
+        this.pattern = pattern;
+        this.failureTable = failureTable;
+        this.sink = sink;
+    }
+
+    @Override
+    public void feed(byte[] chunk, int offset, int length) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        Objects.checkFromIndexSize(offset, length, chunk.length);
+        int m = pattern.length;
+        int j = patIndex;
+        long base = position - offset;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = chunk[i];
+            while (j > 0 && b != pattern[j]) {
+                j = failureTable[j - 1];
+            }
+            if (b == pattern[j]) {
+                j++;
+                if (j == m) {
+                    sink.accept(base + i - m + 1);
+                    j = failureTable[m - 1];
+                }
+            }
+        }
+        patIndex = j;
+        position += length;
+    }
+
+    @Override
+    public void feed(ByteBuffer chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        if (chunk.hasArray()) {
+            feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+            return;
+        }
+        int m = pattern.length;
+        int j = patIndex;
+        long base = position - chunk.position();
+        for (int i = chunk.position(); i < chunk.limit(); i++) {
+            byte b = chunk.get(i);
+            while (j > 0 && b != pattern[j]) {
+                j = failureTable[j - 1];
+            }
+            if (b == pattern[j]) {
+                j++;
+                if (j == m) {
+                    sink.accept(base + i - m + 1);
+                    j = failureTable[m - 1];
+                }
+            }
+        }
+        patIndex = j;
+        position += chunk.remaining();
+        chunk.position(chunk.limit());
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        patIndex = 0;
+        position = 0;
+    }
+}
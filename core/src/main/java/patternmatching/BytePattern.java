@@ -0,0 +1,89 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * A compiled pattern that is searched for in bytes rather than chars, so
+ * ASCII or UTF-8 data can be searched without decoding it. For valid UTF-8,
+ * a byte match of a UTF-8 encoded pattern is exactly a match of the pattern,
+ * since no encoded char starts inside another.
+ *
+ * Byte matching is always exact; there is no equivalent of
+ * {@link CharEquivalence}. A MemorySegment can be searched through its
+ * asByteBuffer view, and files larger than 2 GB with
+ * {@link MappedFileSearch}.
+ *
+ * Implementations are immutable and may be shared freely across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public interface BytePattern {
+
+    /**
+     * Gets a copy of the bytes this instance was compiled from.
+     *
+     * @return the pattern
+     */
+    byte[] pattern();
+
+    /**
+     * Gets the length of the pattern in bytes.
+     *
+     * @return the pattern length
+     */
+    int length();
+
+    /**
+     * Searches for every occurrence of the pattern in the text and passes the
+     * starting index of each match to the sink.
+     *
+     * @param text the bytes where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text or sink is null
+     */
+    void search(byte[] text, IntConsumer sink);
+
+    /**
+     * Searches for every occurrence of the pattern in the remaining bytes of
+     * the buffer, from its position to its limit, and passes the index of
+     * each match in the buffer to the sink. Heap and direct buffers are both
+     * supported. Uses absolute gets only, so the position and limit of the
+     * buffer are left as they were.
+     *
+     * @param text the bytes where you search for the pattern
+     * @param sink receives the index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text or sink is null
+     */
+    void search(ByteBuffer text, IntConsumer sink);
+
+    /**
+     * Searches for every occurrence of the pattern in the text.
+     *
+     * @param text the bytes where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default List<Integer> search(byte[] text) {
+        List<Integer> list = new ArrayList<>();
+        search(text, list::add);
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the remaining bytes of
+     * the buffer.
+     *
+     * @param text the bytes where you search for the pattern
+     * @return list containing the index in the buffer of each match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default List<Integer> search(ByteBuffer text) {
+        List<Integer> list = new ArrayList<>();
+        search(text, list::add);
+        return list;
+    }
+}
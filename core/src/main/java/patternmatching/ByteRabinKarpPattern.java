@@ -0,0 +1,185 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Rabin-Karp over bytes. Hashes the unsigned bytes modulo 2^61 - 1 with a
+ * base picked at random when the pattern is compiled, like
+ * {@link ModularRabinKarpPattern}, so a window only needs to be verified
+ * byte by byte when it very likely is a match. This matters for long inputs
+ * such as the multi-gigabyte files {@link MappedFileSearch} scans, where a
+ * wrapping int hash would send many windows to verification.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteRabinKarpPattern implements BytePattern {
+
+    private final byte[] pattern;
+    private final long base;
+    private final long power;
+    private final long patHash;
+
+    /**
+     * Creates a compiled pattern, computing its hash.
+     *
+     * @param pattern the pattern, which is not copied
+     * @param base    the base of the hash
+     */
+    private ByteRabinKarpPattern(byte[] pattern, long base) {
+        this.pattern = pattern;
+        this.base = base;
+        this.power = MersenneHash.power(base, pattern.length - 1);
+        long hash = 0;
+        for (byte b : pattern) {
+            hash = MersenneHash.add(MersenneHash.multiply(hash, base), b & 0xFF);
+        }
+        this.patHash = hash;
+    }
+
+    /**
+     * Compiles the pattern, computing its hash.
+     *
+     * @param pattern the bytes you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ByteRabinKarpPattern compile(byte[] pattern) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        }
+        return new ByteRabinKarpPattern(pattern.clone(), MersenneHash.randomBase());
+    }
+
+    /**
+     * Creates a matcher for a stream of bytes that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public ByteRabinKarpStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new ByteRabinKarpStreamMatcher(pattern, base, power, patHash, sink);
+    }
+
+    @Override
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int length() {
+        return pattern.length;
+    }
+
+    @Override
+    public void search(byte[] text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        search(text, 0, text.length, 0, sink);
+    }
+
+    @Override
+    public void search(ByteBuffer text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            search(text.array(), offset + text.position(), offset + text.limit(), offset, sink);
+            return;
+        }
+        int m = pattern.length;
+        int start = text.position();
+        int end = text.limit();
+        if (m > end - start) {
+            return;
+        }
+        long textHash = 0;
+        for (int i = start; i < start + m; i++) {
+            textHash = MersenneHash.add(MersenneHash.multiply(textHash, base), text.get(i) & 0xFF);
+        }
+        int textIndex = start;
+        while (textIndex <= end - m) {
+            if (patHash == textHash) {
+                int patIndex = 0;
+                while (patIndex < m && text.get(textIndex + patIndex) == pattern[patIndex]) {
+                    patIndex++;
+                }
+                if (patIndex == m) {
+                    sink.accept(textIndex);
+                }
+            }
+            if (textIndex < end - m) {
+                textHash = rollHash(textHash, text.get(textIndex), text.get(textIndex + m), base, power);
+            }
+            textIndex++;
+        }
+    }
+
+    /**
+     * Searches text[from, to) and passes each match index minus the offset
+     * to the sink.
+     *
+     * @param text   the bytes where you search for the pattern
+     * @param from   the first index to search
+     * @param to     one past the last index to search
+     * @param offset subtracted from every match index
+     * @param sink   receives the index of each match, in order
+     */
+    private void search(byte[] text, int from, int to, int offset, IntConsumer sink) {
+        int m = pattern.length;
+        if (m > to - from) {
+            return;
+        }
+        long textHash = 0;
+        for (int i = from; i < from + m; i++) {
+            textHash = MersenneHash.add(MersenneHash.multiply(textHash, base), text[i] & 0xFF);
+        }
+        int textIndex = from;
+        while (textIndex <= to - m) {
+            if (patHash == textHash) {
+                int patIndex = 0;
+                while (patIndex < m && text[textIndex + patIndex] == pattern[patIndex]) {
+                    patIndex++;
+                }
+                if (patIndex == m) {
+                    sink.accept(textIndex - offset);
+                }
+            }
+            if (textIndex < to - m) {
+                textHash = rollHash(textHash, text[textIndex], text[textIndex + m], base, power);
+            }
+            textIndex++;
+        }
+    }
+
+    /**
+     * Use rolling hash algorithm to update text hash, like
+     * {@link MersenneHash#roll} does for chars.
+     *
+     * @param textHash the current textHash
+     * @param oldFirst the first byte in the old window
+     * @param newByte  the new byte added
+     * @param base     the base of the hash
+     * @param power    base ^ (m - 1)
+     * @return the new hash for the new window
+     */
+    static long rollHash(long textHash, byte oldFirst, byte newByte, long base, long power) {
+        long removed = MersenneHash.subtract(textHash, MersenneHash.multiply(oldFirst & 0xFF, power));
+        return MersenneHash.add(MersenneHash.multiply(removed, base), newByte & 0xFF);
+    }
+}
@@ -0,0 +1,121 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Rabin-Karp over bytes. Works like {@link RabinKarpStreamMatcher},
+ * keeping the current window of m bytes in a ring, and hashes modulo
+ * 2^61 - 1 like {@link ByteRabinKarpPattern}; created by
+ * {@link ByteRabinKarpPattern#streamMatcher}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteRabinKarpStreamMatcher implements ByteStreamMatcher {
+
+    private final byte[] pattern;
+    private final long base;
+    private final long power;
+    private final long patHash;
+    private final LongConsumer sink;
+    private final byte[] window;
+    private int windowStart;
+    private long textHash;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param pattern the pattern
+     * @param base    the base of the hash
+     * @param power   base ^ (m - 1)
+     * @param patHash the hash of the pattern
+     * @param sink    receives the offset of each match
+     */
+    ByteRabinKarpStreamMatcher(byte[] pattern, long base, long power, long patHash, LongConsumer sink) {
+        this.pattern = pattern;
+        this.base = base;
+        this.power = power;
+        this.patHash = patHash;
+        this.sink = sink;
+        this.window = new byte[pattern.length];
+    }
+
+    @Override
+    public void feed(byte[] chunk, int offset, int length) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        Objects.checkFromIndexSize(offset, length, chunk.length);
+        for (int i = offset; i < offset + length; i++) {
+            accept(chunk[i]);
+        }
+    }
+
+    @Override
+    public void feed(ByteBuffer chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        if (chunk.hasArray()) {
+            feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+            return;
+        }
+        while (chunk.hasRemaining()) {
+            accept(chunk.get());
+        }
+    }
+
+    /**
+     * Rolls the next byte of the stream into the window and reports a match
+     * if the window then equals the pattern.
+     *
+     * @param b the next byte
+     */
+    private void accept(byte b) {
+        int m = window.length;
+        if (position < m) {
+            textHash = MersenneHash.add(MersenneHash.multiply(textHash, base), b & 0xFF);
+        } else {
+            textHash = ByteRabinKarpPattern.rollHash(textHash, window[windowStart], b, base, power);
+        }
+        // the ring is full once m bytes are in, so the oldest is replaced
+        window[windowStart] = b;
+        windowStart = windowStart == m - 1 ? 0 : windowStart + 1;
+        position++;
+        if (position >= m && textHash == patHash && windowMatches()) {
+            sink.accept(position - m);
+        }
+    }
+
+    /**
+     * Checks the current window against the pattern, after a hash hit.
+     *
+     * @return true if every byte of the window equals the pattern
+     */
+    private boolean windowMatches() {
+        int m = window.length;
+        for (int j = 0; j < m; j++) {
+            int index = windowStart + j < m ? windowStart + j : windowStart + j - m;
+            if (window[index] != pattern[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        windowStart = 0;
+        textHash = 0;
+        position = 0;
+    }
+}
@@ -0,0 +1,140 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Shift-Or over bytes. Works like {@link ShiftOrPattern}, with one long mask
+ * per byte value in a 256-entry table. Patterns longer than 64 bytes are
+ * searched with a {@link ByteKmpPattern}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ByteShiftOrPattern implements BytePattern {
+
+    private final byte[] pattern;
+    private final long[] masks;
+    private final ByteKmpPattern fallback;
+
+    /**
+     * Creates a compiled pattern, building its masks.
+     *
+     * @param pattern the pattern, which is not copied
+     */
+    private ByteShiftOrPattern(byte[] pattern) {
+        this.pattern = pattern;
+        if (pattern.length > Long.SIZE) {
+            this.masks = null;
+            this.fallback = ByteKmpPattern.compile(pattern);
+        } else {
+            this.masks = buildMasks(pattern);
+            this.fallback = null;
+        }
+    }
+
+    /**
+     * Compiles the pattern, building its masks.
+     *
+     * @param pattern the bytes you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ByteShiftOrPattern compile(byte[] pattern) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        }
+        return new ByteShiftOrPattern(pattern.clone());
+    }
+
+    /**
+     * Builds the mask of each byte value: bit j is 0 where the pattern has
+     * that byte at index j, and every other bit is 1.
+     *
+     * @param pattern a pattern of at most 64 bytes
+     * @return the 256 masks, indexed by unsigned byte value
+     */
+    static long[] buildMasks(byte[] pattern) {
+        long[] masks = new long[CharIntTable.DENSE_SIZE];
+        Arrays.fill(masks, -1L);
+        for (int j = 0; j < pattern.length; j++) {
+            masks[pattern[j] & 0xFF] &= ~(1L << j);
+        }
+        return masks;
+    }
+
+    @Override
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int length() {
+        return pattern.length;
+    }
+
+    @Override
+    public void search(byte[] text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+            return;
+        }
+        search(text, 0, text.length, 0, sink);
+    }
+
+    @Override
+    public void search(ByteBuffer text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+            return;
+        }
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            search(text.array(), offset + text.position(), offset + text.limit(), offset, sink);
+            return;
+        }
+        int m = pattern.length;
+        long matchBit = 1L << (m - 1);
+        long state = -1L;
+        for (int i = text.position(); i < text.limit(); i++) {
+            state = (state << 1) | masks[text.get(i) & 0xFF];
+            if ((state & matchBit) == 0) {
+                sink.accept(i - m + 1);
+            }
+        }
+    }
+
+    /**
+     * Searches text[from, to) and passes each match index minus the offset
+     * to the sink.
+     *
+     * @param text   the bytes where you search for the pattern
+     * @param from   the first index to search
+     * @param to     one past the last index to search
+     * @param offset subtracted from every match index
+     * @param sink   receives the index of each match, in order
+     */
+    private void search(byte[] text, int from, int to, int offset, IntConsumer sink) {
+        int m = pattern.length;
+        long matchBit = 1L << (m - 1);
+        long state = -1L;
+        for (int i = from; i < to; i++) {
+            state = (state << 1) | masks[text[i] & 0xFF];
+            if ((state & matchBit) == 0) {
+                sink.accept(i - m + 1 - offset);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Searches a stream of bytes that arrives in chunks, such as a socket or a
+ * file read with a fixed buffer. Works like {@link StreamMatcher}, with
+ * matches reported as absolute byte offsets.
+ *
+ * Not thread-safe; a matcher belongs to one stream.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public interface ByteStreamMatcher {
+
+    /**
+     * Feeds bytes [offset, offset + length) of the array as the next chunk of
+     * the stream.
+     *
+     * @param chunk  the array holding the next bytes of the stream
+     * @param offset the index of the first byte to feed
+     * @param length the number of bytes to feed
+     * @throws java.lang.IllegalArgumentException if chunk is null
+     * @throws java.lang.IndexOutOfBoundsException if the range is outside of
+     *                                             the array
+     */
+    void feed(byte[] chunk, int offset, int length);
+
+    /**
+     * Feeds the whole array as the next chunk of the stream.
+     *
+     * @param chunk the next bytes of the stream
+     * @throws java.lang.IllegalArgumentException if chunk is null
+     */
+    default void feed(byte[] chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Feeds the remaining bytes of the buffer as the next chunk of the
+     * stream, and moves the position of the buffer to its limit, as if they
+     * had been read with get().
+     *
+     * @param chunk the next bytes of the stream
+     * @throws java.lang.IllegalArgumentException if chunk is null
+     */
+    void feed(ByteBuffer chunk);
+
+    /**
+     * Gets the number of bytes fed so far, which is the offset of the next
+     * byte in the stream.
+     *
+     * @return the stream position
+     */
+    long position();
+
+    /**
+     * Forgets everything fed so far, so the matcher can be used for a new
+     * stream starting at offset 0.
+     */
+    void reset();
+}
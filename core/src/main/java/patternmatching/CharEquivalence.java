@@ -0,0 +1,74 @@
+package patternmatching;
+
+/**
+ * Decides which chars are considered equal while searching, without boxing
+ * them the way {@link CharacterComparator} does.
+ *
+ * An equivalence maps every char to a canonical representative, and two chars
+ * are equivalent exactly when their canonical chars are equal. Tables such as
+ * the failure table or last occurrence table are built over the canonical
+ * pattern, which is what lets every algorithm support the same equivalences.
+ *
+ * Implementations must be stateless or thread-safe, since compiled patterns
+ * holding them may be shared across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public interface CharEquivalence {
+
+    /**
+     * Chars are only equivalent to themselves.
+     */
+    CharEquivalence EXACT = new CharEquivalence() {
+        @Override
+        public char canonical(char c) {
+            return c;
+        }
+
+        @Override
+        public boolean equivalent(char a, char b) {
+            return a == b;
+        }
+    };
+
+    /**
+     * Chars are equivalent if they are equal ignoring case, using the same
+     * per-char rule as {@link String#equalsIgnoreCase(String)}.
+     */
+    CharEquivalence CASE_INSENSITIVE = c -> Character.toLowerCase(Character.toUpperCase(c));
+
+    /**
+     * Maps a char to the representative of its equivalence class.
+     *
+     * @param c the char
+     * @return the canonical char
+     */
+    char canonical(char c);
+
+    /**
+     * Checks if two chars are equivalent. Must agree with
+     * {@code canonical(a) == canonical(b)}.
+     *
+     * @param a the first char, usually from the text
+     * @param b the second char, usually already canonical from the pattern
+     * @return true if a and b are equivalent
+     */
+    default boolean equivalent(char a, char b) {
+        return canonical(a) == canonical(b);
+    }
+
+    /**
+     * Maps every char of a pattern to its canonical char.
+     *
+     * @param pattern the pattern
+     * @return the canonical pattern
+     */
+    default String canonical(CharSequence pattern) {
+        char[] chars = new char[pattern.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = canonical(pattern.charAt(i));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,225 @@
+package patternmatching;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * How often each char occurs in some kind of text, used to pick the rarest
+ * chars of a pattern as the anchors that are checked first. Anchoring on a
+ * rare char instead of, say, a trailing 'e' or space means far fewer windows
+ * get past the first comparison.
+ *
+ * Only the relative order of the frequencies matters. Chars missing from a
+ * table have frequency 0, so unusual chars are always treated as rare.
+ *
+ * Instances are immutable and may be shared freely across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class CharFrequency {
+
+    /**
+     * English prose: letter frequencies from the usual corpus counts, plus
+     * spaces, newlines and common punctuation.
+     */
+    public static final CharFrequency ENGLISH;
+
+    /**
+     * Application log lines: timestamps, levels, logger names and messages,
+     * so digits, ':', '.', '-' and brackets are much more common than in
+     * prose.
+     */
+    public static final CharFrequency LOG;
+
+    /**
+     * DNA sequences over A, C, G and T in either case. Other chars, such as
+     * N for an unknown base, are rare.
+     */
+    public static final CharFrequency DNA;
+
+    static {
+        double[] english = new double[CharIntTable.DENSE_SIZE];
+        putLetters(english, 1.0);
+        put(english, " ", 18.0);
+        put(english, "\n", 0.8);
+        put(english, ",", 1.0);
+        put(english, ".", 0.9);
+        put(english, "'\"", 0.2);
+        put(english, "-;:", 0.1);
+        put(english, "0123456789", 0.05);
+        ENGLISH = new CharFrequency(english, new HashMap<>());
+
+        double[] log = new double[CharIntTable.DENSE_SIZE];
+        putLetters(log, 0.6);
+        put(log, " ", 12.0);
+        put(log, "0123456789", 2.5);
+        put(log, ".", 2.5);
+        put(log, ":", 2.0);
+        put(log, "-", 1.5);
+        put(log, "\n", 1.2);
+        put(log, "INFOERWADBUG", 0.4);
+        put(log, "/=", 0.8);
+        put(log, ",[]_", 0.5);
+        put(log, "()\"'", 0.3);
+        LOG = new CharFrequency(log, new HashMap<>());
+
+        double[] dna = new double[CharIntTable.DENSE_SIZE];
+        put(dna, "ACGT", 25.0);
+        put(dna, "acgt", 25.0);
+        put(dna, "\n", 1.0);
+        DNA = new CharFrequency(dna, new HashMap<>());
+    }
+
+    private final double[] latin1;
+    private final Map<Character, Double> others;
+
+    /**
+     * Creates a frequency table.
+     *
+     * @param latin1 the frequency of each char below 256
+     * @param others the frequency of other chars
+     */
+    private CharFrequency(double[] latin1, Map<Character, Double> others) {
+        this.latin1 = latin1;
+        this.others = others;
+    }
+
+    /**
+     * Adds to the frequency of each of the chars.
+     *
+     * @param table     the table of Latin-1 frequencies
+     * @param chars     the chars
+     * @param frequency the frequency to add to each
+     */
+    private static void put(double[] table, String chars, double frequency) {
+        for (int i = 0; i < chars.length(); i++) {
+            table[chars.charAt(i)] += frequency;
+        }
+    }
+
+    /**
+     * Adds English letter frequencies, in percent of letters, scaled by the
+     * factor. Capitals are taken to be a twentieth as common.
+     *
+     * @param table  the table of Latin-1 frequencies
+     * @param factor the scale
+     */
+    private static void putLetters(double[] table, double factor) {
+        String letters = "etaoinshrdlcumwfgypbvkjxqz";
+        double[] percent = {12.7, 9.1, 8.2, 7.5, 7.0, 6.7, 6.3, 6.1, 6.0, 4.3, 4.0, 2.8, 2.8, 2.4, 2.4,
+            2.2, 2.0, 2.0, 1.9, 1.5, 1.0, 0.77, 0.15, 0.15, 0.095, 0.074};
+        for (int i = 0; i < letters.length(); i++) {
+            char c = letters.charAt(i);
+            table[c] += percent[i] * factor;
+            table[Character.toUpperCase(c)] += percent[i] * factor / 20;
+        }
+    }
+
+    /**
+     * Creates a table from given frequencies.
+     *
+     * @param frequencies the frequency of each char; chars that are missing
+     *                    have frequency 0
+     * @return the frequency table
+     * @throws java.lang.IllegalArgumentException if frequencies is null, or
+     *                                            has a null key or a null or
+     *                                            negative value
+     */
+    public static CharFrequency of(Map<Character, ? extends Number> frequencies) {
+        if (frequencies == null) {
+            throw new java.lang.IllegalArgumentException("frequencies cannot be null");
+        }
+        double[] latin1 = new double[CharIntTable.DENSE_SIZE];
+        Map<Character, Double> others = new HashMap<>();
+        for (Map.Entry<Character, ? extends Number> entry : frequencies.entrySet()) {
+            if (entry.getKey() == null) {
+                throw new java.lang.IllegalArgumentException("frequencies cannot have a null key");
+            } else if (entry.getValue() == null || entry.getValue().doubleValue() < 0) {
+                throw new java.lang.IllegalArgumentException("frequency of " + entry.getKey()
+                        + " cannot be null or negative");
+            }
+            char c = entry.getKey();
+            if (c < CharIntTable.DENSE_SIZE) {
+                latin1[c] = entry.getValue().doubleValue();
+            } else {
+                others.put(c, entry.getValue().doubleValue());
+            }
+        }
+        return new CharFrequency(latin1, others);
+    }
+
+    /**
+     * Creates a table by counting the chars of a sample of the text that will
+     * be searched.
+     *
+     * @param sample text representative of what will be searched
+     * @return the frequency table
+     * @throws java.lang.IllegalArgumentException if sample is null
+     */
+    public static CharFrequency fromSample(CharSequence sample) {
+        if (sample == null) {
+            throw new java.lang.IllegalArgumentException("sample cannot be null");
+        }
+        double[] latin1 = new double[CharIntTable.DENSE_SIZE];
+        Map<Character, Double> others = new HashMap<>();
+        for (int i = 0; i < sample.length(); i++) {
+            char c = sample.charAt(i);
+            if (c < CharIntTable.DENSE_SIZE) {
+                latin1[c]++;
+            } else {
+                others.merge(c, 1.0, Double::sum);
+            }
+        }
+        return new CharFrequency(latin1, others);
+    }
+
+    /**
+     * Gets the relative frequency of a char.
+     *
+     * @param c the char
+     * @return the frequency, 0 if the char is not in the table
+     */
+    public double frequency(char c) {
+        if (c < CharIntTable.DENSE_SIZE) {
+            return latin1[c];
+        }
+        Double frequency = others.get(c);
+        return frequency == null ? 0 : frequency;
+    }
+
+    /**
+     * Picks the two anchors of a pattern: the index of its rarest char, then
+     * the index of the rarest char at any other index. Ties go to the later
+     * index, as in Boyer-Moore, which compares from the end. A pattern of one
+     * char has both anchors at 0.
+     *
+     * @param pattern the pattern
+     * @return the two anchor indices, rarest first
+     */
+    int[] anchors(CharSequence pattern) {
+        int first = rarest(pattern, -1);
+        int second = pattern.length() == 1 ? first : rarest(pattern, first);
+        return new int[] {first, second};
+    }
+
+    /**
+     * Finds the index of the rarest char of the pattern.
+     *
+     * @param pattern the pattern
+     * @param skip    an index to ignore, or -1
+     * @return the index of the rarest char
+     */
+    private int rarest(CharSequence pattern, int skip) {
+        int best = -1;
+        double bestFrequency = Double.POSITIVE_INFINITY;
+        for (int i = pattern.length() - 1; i >= 0; i--) {
+            double frequency = frequency(pattern.charAt(i));
+            if (i != skip && frequency < bestFrequency) {
+                best = i;
+                bestFrequency = frequency;
+            }
+        }
+        return best;
+    }
+}
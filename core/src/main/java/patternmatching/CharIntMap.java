@@ -0,0 +1,128 @@
+package patternmatching;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed hash map from char to int. Keys and values live in two
+ * parallel int arrays, so lookups never box and probe a single cache-friendly
+ * array with linear probing.
+ *
+ * Entries can only be added or overwritten, never removed.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class CharIntMap {
+
+    private static final int EMPTY = -1;
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     *
+     * @param expectedSize the number of keys expected, used to size the table
+     * @param missingValue the value get returns for a key that is not present
+     */
+    public CharIntMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key the char to look up
+     * @return the value, or the missing value if the key is not present
+     */
+    public int get(char key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (true) {
+            int k = keys[slot];
+            if (k == key) {
+                return values[slot];
+            } else if (k == EMPTY) {
+                return missingValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous value.
+     *
+     * @param key   the char key
+     * @param value the value
+     */
+    public void put(char key, int value) {
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the value get returns for keys that are not present.
+     *
+     * @return the missing value
+     */
+    public int missingValue() {
+        return missingValue;
+    }
+
+    /**
+     * Moves every entry into tables of the new capacity.
+     *
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put((char) oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a char so that consecutive chars do not land in
+     * consecutive slots.
+     *
+     * @param key the char
+     * @return the mixed hash
+     */
+    private static int hash(char key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,170 @@
+package patternmatching;
+
+import java.util.Arrays;
+
+/**
+ * Lookup table from char to int used for the last occurrence and shift tables
+ * of the Boyer-Moore family of algorithms.
+ *
+ * When every key is Latin-1 (below 256) the table is a dense int array indexed
+ * directly by the char. Otherwise it falls back to a {@link CharIntMap}, so
+ * patterns with a wide Unicode alphabet still use a small, non-boxing table.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class CharIntTable {
+
+    /**
+     * Size of the dense table, one entry per Latin-1 char.
+     */
+    static final int DENSE_SIZE = 256;
+
+    private final int missingValue;
+    private final int[] dense;
+    private final CharIntMap sparse;
+
+    /**
+     * Creates a table sized for the given keys, with every entry set to the
+     * missing value.
+     *
+     * @param keys         the chars that will be put in the table
+     * @param missingValue the value for chars that are not put in the table
+     */
+    CharIntTable(CharSequence keys, int missingValue) {
+        this.missingValue = missingValue;
+        char max = 0;
+        for (int i = 0; i < keys.length(); i++) {
+            max = (char) Math.max(max, keys.charAt(i));
+        }
+        if (max < DENSE_SIZE) {
+            dense = new int[DENSE_SIZE];
+            Arrays.fill(dense, missingValue);
+            sparse = null;
+        } else {
+            dense = null;
+            sparse = new CharIntMap(keys.length(), missingValue);
+        }
+    }
+
+    /**
+     * Builds last occurrence table that will be used to run the Boyer Moore
+     * algorithm. Has the same contents as
+     * {@link PatternMatching#buildLastTable(CharSequence)}, with -1 for chars
+     * that are not in the pattern.
+     *
+     * @param pattern a pattern you are building last table for
+     * @return the last occurrence table
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static CharIntTable lastOccurrence(CharSequence pattern) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        }
+        CharIntTable table = new CharIntTable(pattern, -1);
+        for (int i = 0; i < pattern.length(); i++) {
+            table.put(pattern.charAt(i), i);
+        }
+        return table;
+    }
+
+    /**
+     * Builds the shift table for the Boyer-Moore-Horspool algorithm, also
+     * used by Raita.
+     *
+     * Each char x of the pattern, except the last one, maps to the distance
+     * from its last occurrence before index m - 1 to the end of the pattern.
+     * Every other char maps to m.
+     *
+     * Ex. pattern = octocat
+     *
+     * table.get(o) = 3
+     * table.get(c) = 2
+     * table.get(a) = 1
+     * table.get(t) = 4
+     * table.get(everything else) = 7
+     *
+     * @param pattern a pattern you are building the shift table for
+     * @return the Horspool shift table
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static CharIntTable horspoolShifts(CharSequence pattern) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        }
+        int m = pattern.length();
+        CharIntTable table = new CharIntTable(pattern, m);
+        for (int i = 0; i < m - 1; i++) {
+            table.put(pattern.charAt(i), m - 1 - i);
+        }
+        return table;
+    }
+
+    /**
+     * Builds the shift table for the Sunday (Quick Search) algorithm.
+     *
+     * Each char x of the pattern maps to the distance from its last
+     * occurrence to one past the end of the pattern. Every other char maps to
+     * m + 1.
+     *
+     * Ex. pattern = octocat
+     *
+     * table.get(o) = 4
+     * table.get(c) = 3
+     * table.get(a) = 2
+     * table.get(t) = 1
+     * table.get(everything else) = 8
+     *
+     * @param pattern a pattern you are building the shift table for
+     * @return the Sunday shift table
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static CharIntTable sundayShifts(CharSequence pattern) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        }
+        int m = pattern.length();
+        CharIntTable table = new CharIntTable(pattern, m + 1);
+        for (int i = 0; i < m; i++) {
+            table.put(pattern.charAt(i), m - i);
+        }
+        return table;
+    }
+
+    /**
+     * Gets the value for a char.
+     *
+     * @param c the char to look up
+     * @return the value, or the missing value if c was never put
+     */
+    public int get(char c) {
+        if (dense != null) {
+            return c < DENSE_SIZE ? dense[c] : missingValue;
+        }
+        return sparse.get(c);
+    }
+
+    /**
+     * Checks if the table is a dense Latin-1 array.
+     *
+     * @return true if dense, false if backed by a hash map
+     */
+    public boolean isDense() {
+        return dense != null;
+    }
+
+    /**
+     * Sets the value for a char. Only used while a table is being built.
+     *
+     * @param c     the char, which must be one of the keys the table was
+     *              created with
+     * @param value the value
+     */
+    void put(char c, int value) {
+        if (dense != null) {
+            dense[c] = value;
+        } else {
+            sparse.put(c, value);
+        }
+    }
+}
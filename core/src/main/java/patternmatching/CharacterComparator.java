@@ -1,3 +1,5 @@
+package patternmatching;
+
 import java.util.Comparator;
 
 /**
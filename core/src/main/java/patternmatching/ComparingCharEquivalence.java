@@ -0,0 +1,39 @@
+package patternmatching;
+
+/**
+ * Compares chars with a {@link CharacterComparator}, so the comparator based
+ * searches of an engine run the same scan as its equivalence based ones.
+ *
+ * The comparator is given the canonical text char and the canonical pattern
+ * char, so it counts comparisons under the wrapped equivalence. Like the
+ * comparator, an instance is meant for a single search.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+final class ComparingCharEquivalence implements CharEquivalence {
+
+    private final CharEquivalence delegate;
+    private final CharacterComparator comparator;
+
+    /**
+     * Creates an equivalence that asks the comparator.
+     *
+     * @param delegate   maps chars to their canonical chars
+     * @param comparator decides if two canonical chars are equal
+     */
+    ComparingCharEquivalence(CharEquivalence delegate, CharacterComparator comparator) {
+        this.delegate = delegate;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public char canonical(char c) {
+        return delegate.canonical(c);
+    }
+
+    @Override
+    public boolean equivalent(char a, char b) {
+        return comparator.compare(delegate.canonical(a), b) == 0;
+    }
+}
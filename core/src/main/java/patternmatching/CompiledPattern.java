@@ -0,0 +1,242 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A pattern whose preprocessing has already been done, so it can be searched
+ * for in many texts without rebuilding its tables.
+ *
+ * Implementations are immutable and may be shared freely across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public interface CompiledPattern {
+
+    /**
+     * Gets the pattern this instance was compiled from.
+     *
+     * @return the pattern
+     */
+    String pattern();
+
+    /**
+     * Searches for every occurrence of the pattern in the text and passes the
+     * starting index of each match to the sink. Nothing is boxed or
+     * collected, so this is the path to use when matches are dense.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text or sink is null
+     */
+    void search(CharSequence text, IntConsumer sink);
+
+    /**
+     * Searches for every occurrence of the pattern in the text.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default List<Integer> search(CharSequence text) {
+        List<Integer> list = new ArrayList<>();
+        search(text, list::add);
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, replacing the
+     * contents of the buffer with the starting index of each match.
+     *
+     * @param text   the body of text where you search for the pattern
+     * @param buffer the buffer to clear and fill, which may be reused
+     * @return the buffer
+     * @throws java.lang.IllegalArgumentException if text or buffer is null
+     */
+    default MatchBuffer searchInto(CharSequence text, MatchBuffer buffer) {
+        if (buffer == null) {
+            throw new java.lang.IllegalArgumentException("buffer cannot be null");
+        }
+        buffer.clear();
+        search(text, buffer);
+        return buffer;
+    }
+
+    /**
+     * Searches for the occurrences of the pattern that do not overlap,
+     * leftmost first: after a match the search goes on from the end of it,
+     * as replacing or redacting matches needs. Every match of a single
+     * pattern has the same length, so this is also the leftmost-longest
+     * set of matches.
+     *
+     * The default filters the overlapping search. {@link KmpPattern},
+     * {@link BoyerMoorePattern} and {@link RabinKarpPattern} instead jump
+     * past each match, skipping the windows inside it.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text or sink is null
+     */
+    default void searchNonOverlapping(CharSequence text, IntConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = pattern().length();
+        int[] nextStart = {0};
+        search(text, index -> {
+            if (index >= nextStart[0]) {
+                sink.accept(index);
+                nextStart[0] = index + m;
+            }
+        });
+    }
+
+    /**
+     * Searches for the occurrences of the pattern that do not overlap,
+     * leftmost first. See
+     * {@link #searchNonOverlapping(CharSequence, IntConsumer)}.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default List<Integer> searchNonOverlapping(CharSequence text) {
+        List<Integer> list = new ArrayList<>();
+        searchNonOverlapping(text, list::add);
+        return list;
+    }
+
+    /**
+     * Finds the first occurrence of the pattern in the text.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return the starting index of the first match, or -1 if there is none
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default int indexOf(CharSequence text) {
+        return indexOf(text, 0);
+    }
+
+    /**
+     * Finds the first occurrence of the pattern that starts at or after the
+     * given index.
+     *
+     * The default searches the whole text and keeps the first match. Engines
+     * that can stop at the first match override it, as {@link KmpPattern},
+     * {@link BoyerMoorePattern} and {@link RabinKarpPattern} do.
+     *
+     * @param text      the body of text where you search for the pattern
+     * @param fromIndex the smallest starting index to report
+     * @return the starting index of the first match, or -1 if there is none
+     * @throws java.lang.IllegalArgumentException if text is null
+     * @throws java.lang.IllegalArgumentException if fromIndex is negative
+     */
+    default int indexOf(CharSequence text, int fromIndex) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (fromIndex < 0) {
+            throw new java.lang.IllegalArgumentException("fromIndex cannot be negative");
+        }
+        int[] first = {-1};
+        search(text, index -> {
+            if (first[0] < 0 && index >= fromIndex) {
+                first[0] = index;
+            }
+        });
+        return first[0];
+    }
+
+    /**
+     * Checks if the pattern occurs anywhere in the text.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return true if there is at least one match
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default boolean contains(CharSequence text) {
+        return indexOf(text) >= 0;
+    }
+
+    /**
+     * Counts the occurrences of the pattern in the text, overlapping ones
+     * included, without collecting them.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return the number of matches
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default int count(CharSequence text) {
+        int[] count = {0};
+        search(text, index -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Finds the first occurrences of the pattern in the text, at most limit
+     * of them.
+     *
+     * The default searches the whole text and keeps the first matches.
+     * {@link KmpPattern}, {@link BoyerMoorePattern} and
+     * {@link RabinKarpPattern} stop as soon as they have found limit matches.
+     *
+     * @param text  the body of text where you search for the pattern
+     * @param limit the most matches to return
+     * @return list containing the starting index of the first matches found
+     * @throws java.lang.IllegalArgumentException if text is null
+     * @throws java.lang.IllegalArgumentException if limit is negative
+     */
+    default List<Integer> findFirst(CharSequence text, int limit) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (limit < 0) {
+            throw new java.lang.IllegalArgumentException("limit cannot be negative");
+        }
+        List<Integer> list = new ArrayList<>();
+        search(text, index -> {
+            if (list.size() < limit) {
+                list.add(index);
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Iterates over the starting index of each match, in order.
+     *
+     * The default runs the whole search up front. Engines that can pause
+     * between matches override it to search only as far as the next match
+     * each time one is asked for, as {@link KmpPattern},
+     * {@link BoyerMoorePattern} and {@link RabinKarpPattern} do. The text
+     * must not change while it is being iterated over.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return an iterator over the match indices
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default PrimitiveIterator.OfInt matches(CharSequence text) {
+        return IntStream.of(searchInto(text, new MatchBuffer()).toArray()).iterator();
+    }
+
+    /**
+     * Streams the starting index of each match, in order. The stream pulls
+     * from {@link #matches(CharSequence)}, so with a lazy iterator
+     * short-circuiting operations such as limit or findFirst stop the search
+     * early.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return a sequential stream of the match indices
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    default IntStream matchStream(CharSequence text) {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED
+                | Spliterator.NONNULL;
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(matches(text), characteristics), false);
+    }
+}
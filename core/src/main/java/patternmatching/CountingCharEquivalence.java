@@ -0,0 +1,60 @@
+package patternmatching;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps another {@link CharEquivalence} and counts how many times chars are
+ * compared, like {@link CharacterComparator#getComparisonCount()} does for the
+ * comparator based methods.
+ *
+ * Counting is opt-in: compile a pattern with this wrapper only when the
+ * comparison count is wanted. The counter is safe to update from many threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class CountingCharEquivalence implements CharEquivalence {
+
+    private final CharEquivalence delegate;
+    private final LongAdder comparisonCount = new LongAdder();
+
+    /**
+     * Creates a counting wrapper.
+     *
+     * @param delegate the equivalence that decides if chars are equal
+     * @throws java.lang.IllegalArgumentException if delegate is null
+     */
+    public CountingCharEquivalence(CharEquivalence delegate) {
+        if (delegate == null) {
+            throw new java.lang.IllegalArgumentException("delegate cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    @Override
+    public char canonical(char c) {
+        return delegate.canonical(c);
+    }
+
+    @Override
+    public boolean equivalent(char a, char b) {
+        comparisonCount.increment();
+        return delegate.equivalent(a, b);
+    }
+
+    /**
+     * Gets the number of times equivalent has been used.
+     *
+     * @return the comparison count
+     */
+    public long getComparisonCount() {
+        return comparisonCount.sum();
+    }
+
+    /**
+     * Sets the comparison count back to 0.
+     */
+    public void reset() {
+        comparisonCount.reset();
+    }
+}
@@ -0,0 +1,22 @@
+package patternmatching;
+
+import java.util.List;
+
+/**
+ * Receives the matches found in each document of a batch search, see
+ * {@link BatchSearch#search(java.util.stream.Stream, DocumentMatchConsumer)}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface DocumentMatchConsumer {
+
+    /**
+     * Called once for every document, including those with no matches.
+     *
+     * @param document the index of the document in the batch
+     * @param matches  the starting index of each match in the document
+     */
+    void accept(long document, List<Integer> matches);
+}
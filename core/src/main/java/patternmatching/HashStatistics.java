@@ -0,0 +1,72 @@
+package patternmatching;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many windows of a hashing search had the pattern's hash and
+ * how many of those turned out not to match, so the false positive rate,
+ * and with it the wasted verification work, can be watched in production.
+ *
+ * Statistics are opt-in: pass an instance to
+ * {@link ModularRabinKarpPattern#search(CharSequence, java.util.function.IntConsumer, HashStatistics)}
+ * and it collects the counts of that search. The compiled pattern keeps no
+ * counts of its own, so it stays immutable. Give each search its own
+ * instance to see its counts alone, or share one to add up many searches;
+ * the counters are safe to update from many threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class HashStatistics {
+
+    private final LongAdder hashHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    /**
+     * Adds the counts of one search.
+     *
+     * @param hits   the windows whose hash equaled the pattern hash
+     * @param misses the hits that did not turn out to be matches
+     */
+    void record(long hits, long misses) {
+        hashHits.add(hits);
+        falsePositives.add(misses);
+    }
+
+    /**
+     * Gets the number of windows whose hash equaled the pattern hash and so
+     * were verified char by char.
+     *
+     * @return the number of hash hits
+     */
+    public long hashHits() {
+        return hashHits.sum();
+    }
+
+    /**
+     * Gets the number of hash hits that did not turn out to be matches.
+     *
+     * @return the number of false positives
+     */
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * Gets the measured share of hash hits that were false positives.
+     *
+     * @return falsePositives / hashHits, or 0 if there were no hash hits
+     */
+    public double falsePositiveRate() {
+        long hits = hashHits.sum();
+        return hits == 0 ? 0 : (double) falsePositives.sum() / hits;
+    }
+
+    /**
+     * Sets the hash hit and false positive counts back to 0.
+     */
+    public void reset() {
+        hashHits.reset();
+        falsePositives.reset();
+    }
+}
@@ -0,0 +1,107 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled Boyer-Moore-Horspool pattern.
+ *
+ * Horspool drops the mismatch-position logic of Boyer-Moore: whatever happens
+ * in a window, the shift is looked up for the text char under the last
+ * pattern index. The inner loop is simpler and usually faster for short
+ * patterns over large alphabets.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class HorspoolPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharIntTable shiftTable;
+
+    /**
+     * Creates a compiled pattern, building the shift table of its canonical
+     * form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private HorspoolPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.shiftTable = CharIntTable.horspoolShifts(canonical);
+    }
+
+    /**
+     * Compiles the pattern, building its shift table.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static HorspoolPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static HorspoolPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new HorspoolPattern(pattern.toString(), equivalence);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = canonical.length();
+        int startIndex = 0;
+        while (startIndex <= text.length() - m) {
+            char last = text.charAt(startIndex + m - 1);
+            int patIndex = m - 1;
+            while (patIndex >= 0
+                    && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex--;
+            }
+            if (patIndex == -1) {
+                sink.accept(startIndex);
+            }
+            startIndex += shiftTable.get(equivalence.canonical(last));
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+
+/**
+ * Precompiled Knuth-Morris-Pratt (KMP) pattern. The failure table is built
+ * once when the pattern is compiled and reused by every search.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class KmpPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int[] failureTable;
+
+    /**
+     * Creates a compiled pattern from a failure table that was already built.
+     *
+     * @param pattern      the pattern
+     * @param equivalence  decides which chars are equal
+     * @param failureTable the failure table of the canonical pattern
+     */
+    KmpPattern(String pattern, CharEquivalence equivalence, int[] failureTable) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.failureTable = failureTable;
+    }
+
+    /**
+     * Compiles the pattern, building its failure table.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static KmpPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence, building
+     * the failure table of its canonical form.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static KmpPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new KmpPattern(pattern.toString(), equivalence,
+                buildFailureTable(equivalence.canonical(pattern)));
+    }
+
+    /**
+     * Builds the failure table by comparing the chars of the pattern
+     * directly. See {@link PatternMatching#buildFailureTable} for the layout
+     * of the table.
+     *
+     * @param pattern a pattern you're building a failure table for
+     * @return integer array holding the failure table
+     */
+    static int[] buildFailureTable(CharSequence pattern) {
+        int[] failureTable = new int[pattern.length()];
+        int prefIndex = 0;
+        int tabIndex = 1;
+        while (tabIndex < pattern.length()) {
+            if (pattern.charAt(tabIndex) == pattern.charAt(prefIndex)) {
+                failureTable[tabIndex] = prefIndex + 1;
+                prefIndex++;
+                tabIndex++;
+            } else if (prefIndex == 0) {
+                failureTable[tabIndex] = 0;
+                tabIndex++;
+            } else {
+                prefIndex = failureTable[prefIndex - 1];
+            }
+        }
+        return failureTable;
+    }
+
+    /**
+     * Creates a matcher for a stream of chars that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public KmpStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new KmpStreamMatcher(canonical, equivalence, failureTable, sink);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, 0, equivalence, true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public void searchNonOverlapping(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, 0, equivalence, false, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public int indexOf(CharSequence text, int fromIndex) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (fromIndex < 0) {
+            throw new java.lang.IllegalArgumentException("fromIndex cannot be negative");
+        }
+        int[] first = {-1};
+        scan(text, fromIndex, 0, equivalence, true, index -> {
+            first[0] = index;
+            return false;
+        });
+        return first[0];
+    }
+
+    @Override
+    public int count(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return scan(text, 0, 0, equivalence, true, index -> true);
+    }
+
+    @Override
+    public List<Integer> findFirst(CharSequence text, int limit) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (limit < 0) {
+            throw new java.lang.IllegalArgumentException("limit cannot be negative");
+        }
+        List<Integer> list = new ArrayList<>();
+        if (limit > 0) {
+            scan(text, 0, 0, equivalence, true, index -> {
+                list.add(index);
+                return list.size() < limit;
+            });
+        }
+        return list;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt matches(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return new MatchIterator(text);
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal. The comparator is given
+     * canonical chars, so it counts comparisons under the equivalence.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public List<Integer> search(CharSequence text, CharacterComparator comparator) {
+        List<Integer> list = new ArrayList<>();
+        search(text, comparator, list::add);
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal, and passes the starting
+     * index of each match to the sink.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public void search(CharSequence text, CharacterComparator comparator, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, 0, new ComparingCharEquivalence(equivalence, comparator), true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    /**
+     * Runs the KMP scan every search of this pattern shares, from the given
+     * index to the end of the text or until the sink asks it to stop.
+     *
+     * @param text        the body of text where you search for the pattern
+     * @param textIndex   the index in the text to read next
+     * @param patIndex    how many chars of the pattern the chars before
+     *                    textIndex already match, 0 for a fresh scan
+     * @param equivalence decides which chars are equal
+     * @param overlapping whether the next match may start inside the last
+     *                    one, or only after it
+     * @param sink        receives the starting index of each match, in
+     *                    order, and returns false to stop the scan
+     * @return the number of matches passed to the sink
+     */
+    private int scan(CharSequence text, int textIndex, int patIndex, CharEquivalence equivalence,
+            boolean overlapping, IntPredicate sink) {
+        int m = canonical.length();
+        int count = 0;
+        while (textIndex - patIndex <= text.length() - m) {
+            if (equivalence.equivalent(text.charAt(textIndex), canonical.charAt(patIndex))) {
+                if (patIndex == m - 1) {
+                    count++;
+                    if (!sink.test(textIndex - patIndex)) {
+                        return count;
+                    }
+                    // without overlaps, start over after the match instead of reusing its suffix
+                    patIndex = overlapping ? failureTable[patIndex] : 0;
+                } else {
+                    patIndex++;
+                }
+                textIndex++;
+            } else if (patIndex == 0) {
+                textIndex++;
+            } else {
+                patIndex = failureTable[patIndex - 1];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lazy KMP search, holding the text index and the length of the matched
+     * prefix between matches. Each call runs the shared scan until it
+     * reports one match.
+     */
+    private final class MatchIterator extends LazyMatchIterator implements IntPredicate {
+
+        private final CharSequence text;
+        private int textIndex;
+        private int patIndex;
+        private int match;
+
+        /**
+         * Creates an iterator at the start of the text.
+         *
+         * @param text the body of text where you search for the pattern
+         */
+        private MatchIterator(CharSequence text) {
+            this.text = text;
+        }
+
+        @Override
+        int findNext() {
+            match = -1;
+            scan(text, textIndex, patIndex, equivalence, true, this);
+            if (match >= 0) {
+                // resume where the scan stood after the match
+                textIndex = match + canonical.length();
+                patIndex = failureTable[canonical.length() - 1];
+            }
+            return match;
+        }
+
+        @Override
+        public boolean test(int index) {
+            match = index;
+            return false;
+        }
+    }
+}
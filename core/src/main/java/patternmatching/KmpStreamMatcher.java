@@ -0,0 +1,72 @@
+package patternmatching;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Knuth-Morris-Pratt. The only state kept between chunks is the
+ * number of pattern chars matched so far, so a match that spans chunks is
+ * found without buffering or re-scanning any of the text. Created by
+ * {@link KmpPattern#streamMatcher}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class KmpStreamMatcher implements StreamMatcher {
+
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int[] failureTable;
+    private final LongConsumer sink;
+    private int patIndex;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param canonical    the canonical pattern
+     * @param equivalence  decides which chars are equal
+     * @param failureTable the failure table of the canonical pattern
+     * @param sink         receives the offset of each match
+     */
+    KmpStreamMatcher(String canonical, CharEquivalence equivalence, int[] failureTable, LongConsumer sink) {
+        this.canonical = canonical;
+        this.equivalence = equivalence;
+        this.failureTable = failureTable;
+        this.sink = sink;
+    }
+
+    @Override
+    public void feed(CharSequence chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        int m = canonical.length();
+        int j = patIndex;
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            while (j > 0 && !equivalence.equivalent(c, canonical.charAt(j))) {
+                j = failureTable[j - 1];
+            }
+            if (equivalence.equivalent(c, canonical.charAt(j))) {
+                j++;
+                if (j == m) {
+                    sink.accept(position + i - m + 1);
+                    j = failureTable[m - 1];
+                }
+            }
+        }
+        patIndex = j;
+        position += chunk.length();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        patIndex = 0;
+        position = 0;
+    }
+}
@@ -0,0 +1,47 @@
+package patternmatching;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterator over the matches of a pattern that only searches as far as the
+ * next match when it is asked for one. Subclasses hold the search state of
+ * their algorithm, such as the KMP prefix length or the Rabin-Karp window
+ * hash, between calls.
+ *
+ * The text must not change while it is being iterated over. Not thread-safe.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+abstract class LazyMatchIterator implements PrimitiveIterator.OfInt {
+
+    private int next = -1;
+    private boolean done;
+
+    /**
+     * Searches on from where the last call stopped.
+     *
+     * @return the starting index of the next match, or -1 if there is none
+     */
+    abstract int findNext();
+
+    @Override
+    public boolean hasNext() {
+        if (next < 0 && !done) {
+            next = findNext();
+            done = next < 0;
+        }
+        return next >= 0;
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("no more matches");
+        }
+        int match = next;
+        next = -1;
+        return match;
+    }
+}
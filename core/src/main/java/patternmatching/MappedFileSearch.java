@@ -0,0 +1,211 @@
+package patternmatching;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Searches files for a byte pattern by memory-mapping them, so the bytes are
+ * read straight from the page cache instead of being copied into a String.
+ *
+ * A single mapping cannot be larger than Integer.MAX_VALUE bytes, so the file
+ * is mapped in windows of at most windowSize bytes. Consecutive windows
+ * overlap by m - 1 bytes, m being the pattern length, so a match that
+ * straddles two windows is found in the second one and no match is reported
+ * twice. Matches are byte offsets into the file, as longs.
+ *
+ * Only KMP, Boyer-Moore, Rabin-Karp and the vectorized search have byte
+ * implementations, see {@link BytePattern}. Instances are immutable and may
+ * be shared freely across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class MappedFileSearch {
+
+    /**
+     * The window size used unless another one is given, 1 GiB.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final BytePattern pattern;
+    private final SearchAlgorithm algorithm;
+    private final int windowSize;
+
+    /**
+     * Creates a file search.
+     *
+     * @param pattern    the compiled byte pattern
+     * @param algorithm  the algorithm the pattern was compiled for
+     * @param windowSize the largest number of bytes mapped at once
+     */
+    private MappedFileSearch(BytePattern pattern, SearchAlgorithm algorithm, int windowSize) {
+        this.pattern = pattern;
+        this.algorithm = algorithm;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Compiles a byte pattern for the algorithm, mapping files in windows of
+     * {@link #DEFAULT_WINDOW_SIZE} bytes.
+     *
+     * @param pattern   the bytes you will be searching for
+     * @param algorithm one of KMP, BOYER_MOORE, RABIN_KARP or VECTORIZED
+     * @return the compiled file search
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if algorithm is null or has
+     *                                            no byte implementation
+     */
+    public static MappedFileSearch compile(byte[] pattern, SearchAlgorithm algorithm) {
+        return compile(pattern, algorithm, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Compiles a pattern encoded with the charset for the algorithm. Matches
+     * are still byte offsets, not char indices.
+     *
+     * @param pattern   the pattern you will be searching for
+     * @param charset   the encoding of the files to search
+     * @param algorithm one of KMP, BOYER_MOORE, RABIN_KARP or VECTORIZED
+     * @return the compiled file search
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if charset is null
+     * @throws java.lang.IllegalArgumentException if algorithm is null or has
+     *                                            no byte implementation
+     */
+    public static MappedFileSearch compile(CharSequence pattern, Charset charset, SearchAlgorithm algorithm) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (charset == null) {
+            throw new java.lang.IllegalArgumentException("charset cannot be null");
+        }
+        return compile(pattern.toString().getBytes(charset), algorithm);
+    }
+
+    /**
+     * Compiles a byte pattern for the algorithm.
+     *
+     * @param pattern    the bytes you will be searching for
+     * @param algorithm  one of KMP, BOYER_MOORE, RABIN_KARP or VECTORIZED
+     * @param windowSize the largest number of bytes mapped at once
+     * @return the compiled file search
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if algorithm is null or has
+     *                                            no byte implementation
+     * @throws java.lang.IllegalArgumentException if windowSize is less than
+     *                                            the pattern length
+     */
+    public static MappedFileSearch compile(byte[] pattern, SearchAlgorithm algorithm, int windowSize) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (algorithm == null) {
+            throw new java.lang.IllegalArgumentException("algorithm cannot be null");
+        } else if (windowSize < pattern.length) {
+            throw new java.lang.IllegalArgumentException("windowSize cannot be less than the pattern length");
+        }
+        BytePattern compiled;
+        if (algorithm == SearchAlgorithm.KMP) {
+            compiled = ByteKmpPattern.compile(pattern);
+        } else if (algorithm == SearchAlgorithm.BOYER_MOORE) {
+            compiled = ByteBoyerMoorePattern.compile(pattern);
+        } else if (algorithm == SearchAlgorithm.RABIN_KARP) {
+            compiled = ByteRabinKarpPattern.compile(pattern);
+        } else if (algorithm == SearchAlgorithm.VECTORIZED) {
+            compiled = VectorizedBytePattern.compile(pattern);
+        } else {
+            throw new java.lang.IllegalArgumentException(algorithm + " cannot search bytes");
+        }
+        return new MappedFileSearch(compiled, algorithm, windowSize);
+    }
+
+    /**
+     * Gets the algorithm this search runs.
+     *
+     * @return the algorithm
+     */
+    public SearchAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Gets the largest number of bytes mapped at once.
+     *
+     * @return the window size
+     */
+    public int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Searches the file for every occurrence of the pattern.
+     *
+     * @param file the file to search
+     * @return list containing the byte offset of each match found
+     * @throws java.lang.IllegalArgumentException if file is null
+     * @throws IOException                        if the file cannot be opened
+     *                                            or mapped
+     */
+    public List<Long> search(Path file) throws IOException {
+        List<Long> list = new ArrayList<>();
+        search(file, list::add);
+        return list;
+    }
+
+    /**
+     * Searches the file for every occurrence of the pattern and passes the
+     * byte offset of each match to the sink.
+     *
+     * @param file the file to search
+     * @param sink receives the byte offset of each match, in order
+     * @throws java.lang.IllegalArgumentException if file or sink is null
+     * @throws IOException                        if the file cannot be opened
+     *                                            or mapped
+     */
+    public void search(Path file, LongConsumer sink) throws IOException {
+        if (file == null) {
+            throw new java.lang.IllegalArgumentException("file cannot be null");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            search(channel, sink);
+        }
+    }
+
+    /**
+     * Searches the whole of an open channel for every occurrence of the
+     * pattern and passes the byte offset of each match to the sink. The
+     * channel is not closed and its position is not changed.
+     *
+     * @param channel the channel to search, open for reading
+     * @param sink    receives the byte offset of each match, in order
+     * @throws java.lang.IllegalArgumentException if channel or sink is null
+     * @throws IOException                        if the channel cannot be
+     *                                            mapped
+     */
+    public void search(FileChannel channel, LongConsumer sink) throws IOException {
+        if (channel == null) {
+            throw new java.lang.IllegalArgumentException("channel cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = pattern.length();
+        long size = channel.size();
+        long windowStart = 0;
+        while (size - windowStart >= m) {
+            int length = (int) Math.min(windowSize, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            long offset = windowStart;
+            pattern.search(window, index -> sink.accept(offset + index));
+            // the last m - 1 bytes cannot start a match in this window
+            windowStart += length - m + 1;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package patternmatching;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable buffer of match indices backed by an int array. A buffer can be
+ * cleared and refilled by any number of searches, so once it has grown to fit
+ * the densest text it stops allocating.
+ *
+ * Not thread-safe; use one buffer per thread.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class MatchBuffer implements IntConsumer {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] matches;
+    private int size;
+
+    /**
+     * Creates an empty buffer with the default initial capacity.
+     */
+    public MatchBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates an empty buffer.
+     *
+     * @param initialCapacity the number of matches it can hold before growing
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public MatchBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new java.lang.IllegalArgumentException("initialCapacity cannot be negative");
+        }
+        matches = new int[initialCapacity];
+    }
+
+    /**
+     * Appends a match index, growing the backing array if it is full.
+     *
+     * @param index the starting index of the match
+     */
+    @Override
+    public void accept(int index) {
+        if (size == matches.length) {
+            matches = Arrays.copyOf(matches, Math.max(INITIAL_CAPACITY, size + (size >> 1)));
+        }
+        matches[size++] = index;
+    }
+
+    /**
+     * Gets the match index at the given position.
+     *
+     * @param i the position in the buffer
+     * @return the match index
+     * @throws java.lang.IndexOutOfBoundsException if i is negative or not
+     *                                             less than size
+     */
+    public int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new java.lang.IndexOutOfBoundsException("index " + i + " is out of bounds for size " + size);
+        }
+        return matches[i];
+    }
+
+    /**
+     * Gets the number of matches in the buffer.
+     *
+     * @return the number of matches
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the buffer holds no matches.
+     *
+     * @return true if there are no matches
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every match, keeping the backing array for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Copies the matches into a new array.
+     *
+     * @return an array of exactly size elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(matches, size);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,114 @@
+package patternmatching;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Arithmetic modulo the Mersenne prime 2^61 - 1, for polynomial rolling
+ * hashes that never overflow.
+ *
+ * Reducing modulo 2^61 - 1 only needs shifts, masks and adds, and a 61-bit
+ * prime makes the chance that two different strings of length m collide for
+ * a random base at most m / 2^61. Picking the base at random when a pattern
+ * is compiled keeps that bound even for text chosen by an adversary, unlike
+ * hashing modulo 2^32 or 2^64.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class MersenneHash {
+
+    /**
+     * The modulus, 2^61 - 1.
+     */
+    public static final long MODULUS = (1L << 61) - 1;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private MersenneHash() {
+    }
+
+    /**
+     * Picks a random base for hashing chars, larger than any char value so
+     * that distinct chars never hash alike.
+     *
+     * @return a base in [2^16, 2^61 - 1)
+     */
+    public static long randomBase() {
+        return ThreadLocalRandom.current().nextLong(1L << 16, MODULUS);
+    }
+
+    /**
+     * Multiplies two residues.
+     *
+     * @param a a value in [0, MODULUS)
+     * @param b a value in [0, MODULUS)
+     * @return a * b mod MODULUS
+     */
+    public static long multiply(long a, long b) {
+        long low = a * b;
+        long high = Math.multiplyHigh(a, b);
+        // the product is high * 2^64 + low; split it at bit 61 and fold
+        long sum = (low & MODULUS) + ((low >>> 61) | (high << 3));
+        return sum >= MODULUS ? sum - MODULUS : sum;
+    }
+
+    /**
+     * Adds two residues.
+     *
+     * @param a a value in [0, MODULUS)
+     * @param b a value in [0, MODULUS)
+     * @return a + b mod MODULUS
+     */
+    public static long add(long a, long b) {
+        long sum = a + b;
+        return sum >= MODULUS ? sum - MODULUS : sum;
+    }
+
+    /**
+     * Subtracts two residues.
+     *
+     * @param a a value in [0, MODULUS)
+     * @param b a value in [0, MODULUS)
+     * @return a - b mod MODULUS
+     */
+    public static long subtract(long a, long b) {
+        long difference = a - b;
+        return difference < 0 ? difference + MODULUS : difference;
+    }
+
+    /**
+     * Raises a base to a power by repeated squaring.
+     *
+     * @param base     a value in [0, MODULUS)
+     * @param exponent a non-negative exponent
+     * @return base ^ exponent mod MODULUS
+     */
+    public static long power(long base, int exponent) {
+        long result = 1;
+        long square = base;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) {
+                result = multiply(result, square);
+            }
+            square = multiply(square, square);
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Rolls a window hash one char to the right:
+     * (oldHash - oldChar * power) * base + newChar.
+     *
+     * @param hash    the hash of the current window
+     * @param oldChar the char leaving the window
+     * @param newChar the char entering the window
+     * @param base    the base of the hash
+     * @param power   base ^ (window length - 1)
+     * @return the hash of the next window
+     */
+    public static long roll(long hash, char oldChar, char newChar, long base, long power) {
+        return add(multiply(subtract(hash, multiply(oldChar, power)), base), newChar);
+    }
+}
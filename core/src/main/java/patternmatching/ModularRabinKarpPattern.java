@@ -0,0 +1,224 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled Rabin-Karp pattern that hashes modulo the Mersenne prime
+ * 2^61 - 1 with a base picked at random when the pattern is compiled.
+ *
+ * {@link RabinKarpPattern} keeps the int hash of {@link PatternMatching#rabinKarp},
+ * which silently wraps for patterns longer than a few chars, so unrelated
+ * windows collide and each collision costs a char by char verification. The
+ * modular hash never overflows and, for any text, two different windows
+ * collide with probability at most m / 2^61. Compiling with double hashing
+ * keeps a second hash with an independent base and only verifies windows
+ * where both agree.
+ *
+ * A search can record how many windows had a matching hash and how many of
+ * those turned out not to match into a {@link HashStatistics} the caller
+ * passes in, so the false positive rate can be watched in production.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ModularRabinKarpPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final boolean doubleHash;
+    private final long base;
+    private final long power;
+    private final long patHash;
+    private final long base2;
+    private final long power2;
+    private final long patHash2;
+
+    /**
+     * Creates a compiled pattern, hashing its canonical form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     * @param base        the base of the first hash
+     * @param base2       the base of the second hash, or 0 for single hashing
+     */
+    ModularRabinKarpPattern(String pattern, CharEquivalence equivalence, long base, long base2) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.doubleHash = base2 != 0;
+        int m = pattern.length();
+        this.base = base;
+        this.power = MersenneHash.power(base, m - 1);
+        this.patHash = hash(canonical, base);
+        this.base2 = base2;
+        this.power2 = doubleHash ? MersenneHash.power(base2, m - 1) : 0;
+        this.patHash2 = doubleHash ? hash(canonical, base2) : 0;
+    }
+
+    /**
+     * Compiles the pattern with a single hash.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ModularRabinKarpPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT, false);
+    }
+
+    /**
+     * Compiles the pattern with a single hash for matching under the given
+     * equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static ModularRabinKarpPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        return compile(pattern, equivalence, false);
+    }
+
+    /**
+     * Compiles the pattern.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @param doubleHash  whether to keep a second, independent hash
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static ModularRabinKarpPattern compile(CharSequence pattern, CharEquivalence equivalence,
+                                                  boolean doubleHash) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new ModularRabinKarpPattern(pattern.toString(), equivalence, MersenneHash.randomBase(),
+                doubleHash ? MersenneHash.randomBase() : 0);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Checks if the pattern keeps a second hash.
+     *
+     * @return true if double hashed
+     */
+    public boolean isDoubleHash() {
+        return doubleHash;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        search(text, sink, null);
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, adding the
+     * number of hash hits and false positives of this search to the given
+     * statistics.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param sink       receives the starting index of each match, in order
+     * @param statistics collects the counts of this search, or null to skip
+     *                   collecting them
+     * @throws java.lang.IllegalArgumentException if text or sink is null
+     */
+    public void search(CharSequence text, IntConsumer sink, HashStatistics statistics) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = canonical.length();
+        if (m > text.length()) {
+            return;
+        }
+        long textHash = hashWindow(text, base);
+        long textHash2 = doubleHash ? hashWindow(text, base2) : 0;
+        long hits = 0;
+        long misses = 0;
+        int textIndex = 0;
+        while (textIndex <= text.length() - m) {
+            if (textHash == patHash && textHash2 == patHash2) {
+                hits++;
+                int patIndex = 0;
+                while (patIndex < m
+                        && equivalence.equivalent(text.charAt(textIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex++;
+                }
+                if (patIndex == m) {
+                    sink.accept(textIndex);
+                } else {
+                    misses++;
+                }
+            }
+            if (textIndex < text.length() - m) {
+                char oldChar = equivalence.canonical(text.charAt(textIndex));
+                char newChar = equivalence.canonical(text.charAt(textIndex + m));
+                textHash = MersenneHash.roll(textHash, oldChar, newChar, base, power);
+                if (doubleHash) {
+                    textHash2 = MersenneHash.roll(textHash2, oldChar, newChar, base2, power2);
+                }
+            }
+            textIndex++;
+        }
+        if (statistics != null) {
+            statistics.record(hits, misses);
+        }
+    }
+
+    /**
+     * Hashes the canonical chars of the first m chars of the text, m being
+     * the pattern length.
+     *
+     * @param text the text, at least as long as the pattern
+     * @param b    the base of the hash
+     * @return the hash of the first window of the text
+     */
+    private long hashWindow(CharSequence text, long b) {
+        long hash = 0;
+        for (int i = 0; i < canonical.length(); i++) {
+            hash = MersenneHash.add(MersenneHash.multiply(hash, b), equivalence.canonical(text.charAt(i)));
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes a whole string.
+     *
+     * @param chars the chars to hash
+     * @param b     the base of the hash
+     * @return the hash
+     */
+    private static long hash(String chars, long b) {
+        long hash = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            hash = MersenneHash.add(MersenneHash.multiply(hash, b), chars.charAt(i));
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,65 @@
+package patternmatching;
+
+/**
+ * One occurrence found by a multi-pattern search: which pattern matched and
+ * where.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class MultiMatch {
+
+    private final int patternId;
+    private final int startIndex;
+
+    /**
+     * Creates a match.
+     *
+     * @param patternId  the index of the pattern in the list it was compiled
+     *                   from
+     * @param startIndex the index in the text where the match starts
+     */
+    public MultiMatch(int patternId, int startIndex) {
+        this.patternId = patternId;
+        this.startIndex = startIndex;
+    }
+
+    /**
+     * Gets the id of the pattern that matched.
+     *
+     * @return the pattern id
+     */
+    public int patternId() {
+        return patternId;
+    }
+
+    /**
+     * Gets the index in the text where the match starts.
+     *
+     * @return the start index
+     */
+    public int startIndex() {
+        return startIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof MultiMatch)) {
+            return false;
+        }
+        MultiMatch other = (MultiMatch) o;
+        return patternId == other.patternId && startIndex == other.startIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * patternId + startIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + patternId + ", " + startIndex + ")";
+    }
+}
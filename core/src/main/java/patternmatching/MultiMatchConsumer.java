@@ -0,0 +1,21 @@
+package patternmatching;
+
+/**
+ * Receives the occurrences found by a multi-pattern search without boxing
+ * them, the multi-pattern counterpart of passing an IntConsumer to
+ * {@link CompiledPattern#search(CharSequence, java.util.function.IntConsumer)}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface MultiMatchConsumer {
+
+    /**
+     * Called once for every occurrence of every pattern.
+     *
+     * @param patternId  the index of the pattern that matched
+     * @param startIndex the index in the text where the match starts
+     */
+    void accept(int patternId, int startIndex);
+}
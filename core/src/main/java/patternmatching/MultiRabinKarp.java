@@ -0,0 +1,223 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rabin-Karp for many patterns at once.
+ *
+ * Patterns are bucketed by length. Each bucket keeps one rolling hash of the
+ * text and a {@link LongIntMap} from pattern hash to the patterns with that
+ * hash, so every window costs one hash update and one lookup per bucket no
+ * matter how many patterns share the length. Chars are only compared when a
+ * window's hash is in the map.
+ *
+ * Hashes are computed modulo 2^61 - 1 with a base picked at random when the
+ * patterns are compiled, see {@link MersenneHash}, so fingerprints stay well
+ * spread even when the text is chosen to collide with them.
+ *
+ * Instances are immutable and may be shared across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class MultiRabinKarp {
+
+    private static final int NONE = -1;
+
+    private final String[] patterns;
+    private final long base;
+    // bucket b holds every pattern of length lengths[b], lengths ascending
+    private final int[] lengths;
+    private final long[] powers;
+    private final LongIntMap[] firstByHash;
+    private final int[] nextSameHash;
+
+    /**
+     * Buckets and hashes the patterns.
+     *
+     * @param patterns the patterns, already validated
+     */
+    private MultiRabinKarp(String[] patterns) {
+        this.patterns = patterns;
+        this.base = MersenneHash.randomBase();
+        int[] distinct = new int[patterns.length];
+        for (int id = 0; id < patterns.length; id++) {
+            distinct[id] = patterns[id].length();
+        }
+        Arrays.sort(distinct);
+        int buckets = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[buckets++] = distinct[i];
+            }
+        }
+        lengths = Arrays.copyOf(distinct, buckets);
+        powers = new long[buckets];
+        firstByHash = new LongIntMap[buckets];
+        for (int b = 0; b < buckets; b++) {
+            powers[b] = MersenneHash.power(base, lengths[b] - 1);
+            firstByHash[b] = new LongIntMap(16, NONE);
+        }
+        nextSameHash = new int[patterns.length];
+        // inserting backwards leaves each chain in increasing id order
+        for (int id = patterns.length - 1; id >= 0; id--) {
+            LongIntMap map = firstByHash[Arrays.binarySearch(lengths, patterns[id].length())];
+            long hash = hash(patterns[id], 0, patterns[id].length());
+            nextSameHash[id] = map.get(hash);
+            map.put(hash, id);
+        }
+    }
+
+    /**
+     * Compiles the patterns. Each pattern's id is its index in the list.
+     *
+     * @param patterns the patterns you will be searching for
+     * @return the compiled patterns
+     * @throws java.lang.IllegalArgumentException if the list is null or empty,
+     *                                            or any pattern is null or
+     *                                            has length 0
+     */
+    public static MultiRabinKarp compile(List<? extends CharSequence> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            throw new java.lang.IllegalArgumentException("patterns cannot be null or empty");
+        }
+        String[] copy = new String[patterns.size()];
+        for (int i = 0; i < copy.length; i++) {
+            CharSequence pattern = patterns.get(i);
+            if (pattern == null || pattern.length() == 0) {
+                throw new java.lang.IllegalArgumentException("pattern " + i
+                        + " cannot be null or empty (length is 0)");
+            }
+            copy[i] = pattern.toString();
+        }
+        return new MultiRabinKarp(copy);
+    }
+
+    /**
+     * Gets the number of patterns.
+     *
+     * @return the number of patterns
+     */
+    public int patternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * Gets a pattern by id.
+     *
+     * @param patternId the id of the pattern
+     * @return the pattern
+     * @throws java.lang.IndexOutOfBoundsException if there is no pattern with
+     *                                             that id
+     */
+    public String pattern(int patternId) {
+        return patterns[patternId];
+    }
+
+    /**
+     * Gets the number of distinct pattern lengths, which is the number of
+     * rolling hashes kept while searching.
+     *
+     * @return the number of length buckets
+     */
+    public int bucketCount() {
+        return lengths.length;
+    }
+
+    /**
+     * Searches for every occurrence of every pattern in the text.
+     *
+     * Matches are ordered by start index, then shortest pattern first, then
+     * by increasing id.
+     *
+     * @param text the body of text where you search for the patterns
+     * @return list containing every match found
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public List<MultiMatch> search(CharSequence text) {
+        List<MultiMatch> list = new ArrayList<>();
+        search(text, (patternId, startIndex) -> list.add(new MultiMatch(patternId, startIndex)));
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of every pattern in the text and passes
+     * each one to the consumer, in the same order as
+     * {@link #search(CharSequence)}.
+     *
+     * @param text     the body of text where you search for the patterns
+     * @param consumer receives the pattern id and start index of each match
+     * @throws java.lang.IllegalArgumentException if text or consumer is null
+     */
+    public void search(CharSequence text, MultiMatchConsumer consumer) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (consumer == null) {
+            throw new java.lang.IllegalArgumentException("consumer cannot be null");
+        }
+        int n = text.length();
+        // buckets whose patterns are longer than the text never match
+        int buckets = 0;
+        while (buckets < lengths.length && lengths[buckets] <= n) {
+            buckets++;
+        }
+        long[] textHashes = new long[buckets];
+        for (int b = 0; b < buckets; b++) {
+            textHashes[b] = hash(text, 0, lengths[b]);
+        }
+        for (int textIndex = 0; buckets > 0; textIndex++) {
+            for (int b = 0; b < buckets; b++) {
+                int m = lengths[b];
+                for (int id = firstByHash[b].get(textHashes[b]); id != NONE; id = nextSameHash[id]) {
+                    if (matchesAt(patterns[id], text, textIndex)) {
+                        consumer.accept(id, textIndex);
+                    }
+                }
+                if (textIndex < n - m) {
+                    textHashes[b] = MersenneHash.roll(textHashes[b], text.charAt(textIndex),
+                            text.charAt(textIndex + m), base, powers[b]);
+                }
+            }
+            // the longest bucket runs out of windows first
+            while (buckets > 0 && textIndex >= n - lengths[buckets - 1]) {
+                buckets--;
+            }
+        }
+    }
+
+    /**
+     * Compares the pattern with the text char by char, starting from the
+     * beginning of the pattern.
+     *
+     * @param pattern   the pattern
+     * @param text      the text
+     * @param textIndex where in the text the pattern is lined up
+     * @return true if every char matches
+     */
+    private static boolean matchesAt(String pattern, CharSequence text, int textIndex) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (text.charAt(textIndex + i) != pattern.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes the chars in [from, to) of a sequence.
+     *
+     * @param chars the sequence
+     * @param from  the first index, inclusive
+     * @param to    the last index, exclusive
+     * @return the hash
+     */
+    private long hash(CharSequence chars, int from, int to) {
+        long hash = 0;
+        for (int i = from; i < to; i++) {
+            hash = MersenneHash.add(MersenneHash.multiply(hash, base), chars.charAt(i));
+        }
+        return hash;
+    }
+}
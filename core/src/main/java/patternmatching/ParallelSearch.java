@@ -0,0 +1,199 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Searches one large text on several cores. The text is split into chunks
+ * of match start indices; each chunk is searched with the compiled pattern
+ * on a {@link ForkJoinPool}, reading m - 1 chars past its end, m being the
+ * pattern length, so matches that straddle two chunks are found. A chunk
+ * only reports matches starting inside it, so no match is reported twice
+ * and the merged result is exactly what a sequential search returns.
+ *
+ * Each chunk is handed to the pattern as text.subSequence of its range.
+ * For a String that is a String again, so engines keep their String fast
+ * paths and read chars without an extra indirection, at the cost of
+ * copying the chunk once.
+ *
+ * A text of n chars has n - m + 1 start indices. When that is at most
+ * minChunkSize, the text is searched on the calling thread, so small inputs
+ * do not pay for forking. Instances are immutable and may be shared freely
+ * across threads.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ParallelSearch {
+
+    /**
+     * The minimum chunk size used unless another one is given, 64K start
+     * indices.
+     */
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 16;
+
+    // chunks per worker, so a slow chunk does not leave the other workers idle
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final CompiledPattern pattern;
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+
+    /**
+     * Creates a parallel search on the common pool with the default minimum
+     * chunk size.
+     *
+     * @param pattern the compiled pattern to search for
+     * @throws java.lang.IllegalArgumentException if pattern is null
+     */
+    public ParallelSearch(CompiledPattern pattern) {
+        this(pattern, ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a parallel search.
+     *
+     * @param pattern      the compiled pattern to search for
+     * @param pool         the pool the chunks are searched on
+     * @param minChunkSize the fewest start indices a chunk may hold
+     * @throws java.lang.IllegalArgumentException if pattern or pool is null
+     * @throws java.lang.IllegalArgumentException if minChunkSize is less than
+     *                                            1
+     */
+    public ParallelSearch(CompiledPattern pattern, ForkJoinPool pool, int minChunkSize) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        } else if (pool == null) {
+            throw new java.lang.IllegalArgumentException("pool cannot be null");
+        } else if (minChunkSize < 1) {
+            throw new java.lang.IllegalArgumentException("minChunkSize cannot be less than 1");
+        }
+        this.pattern = pattern;
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Gets the compiled pattern this search runs.
+     *
+     * @return the compiled pattern
+     */
+    public CompiledPattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the fewest start indices a chunk may hold.
+     *
+     * @return the minimum chunk size
+     */
+    public int minChunkSize() {
+        return minChunkSize;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text.
+     *
+     * @param text the body of text where you search for the pattern
+     * @return list containing the starting index for each match found, in
+     *         order
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public List<Integer> search(CharSequence text) {
+        MatchBuffer buffer = searchInto(text, new MatchBuffer());
+        List<Integer> list = new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            list.add(buffer.get(i));
+        }
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, replacing the
+     * contents of the buffer with the starting index of each match.
+     *
+     * @param text   the body of text where you search for the pattern
+     * @param buffer the buffer to clear and fill, which may be reused
+     * @return the buffer
+     * @throws java.lang.IllegalArgumentException if text or buffer is null
+     */
+    public MatchBuffer searchInto(CharSequence text, MatchBuffer buffer) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (buffer == null) {
+            throw new java.lang.IllegalArgumentException("buffer cannot be null");
+        }
+        buffer.clear();
+        int m = pattern.pattern().length();
+        int starts = text.length() - m + 1;
+        if (starts <= minChunkSize) {
+            pattern.search(text, buffer);
+            return buffer;
+        }
+        int chunks = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(minChunkSize, (int) ((starts + (long) chunks - 1) / chunks));
+        MatchBuffer[] results = new MatchBuffer[(int) ((starts + (long) chunkSize - 1) / chunkSize)];
+        pool.invoke(new ChunkTask(text, m, starts, chunkSize, results, 0, results.length));
+        for (MatchBuffer result : results) {
+            for (int i = 0; i < result.size(); i++) {
+                buffer.accept(result.get(i));
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Searches a range of chunks, splitting it in half until a single chunk
+     * is left.
+     */
+    @SuppressWarnings("serial")
+    private final class ChunkTask extends RecursiveAction {
+
+        private final CharSequence text;
+        private final int m;
+        private final int starts;
+        private final int chunkSize;
+        private final MatchBuffer[] results;
+        private final int lo;
+        private final int hi;
+
+        /**
+         * Creates a task for chunks [lo, hi).
+         *
+         * @param text      the text
+         * @param m         the pattern length
+         * @param starts    the number of start indices in the text
+         * @param chunkSize the number of start indices per chunk
+         * @param results   where chunk i stores its matches
+         * @param lo        the first chunk
+         * @param hi        one past the last chunk
+         */
+        ChunkTask(CharSequence text, int m, int starts, int chunkSize, MatchBuffer[] results, int lo, int hi) {
+            this.text = text;
+            this.m = m;
+            this.starts = starts;
+            this.chunkSize = chunkSize;
+            this.results = results;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ChunkTask(text, m, starts, chunkSize, results, lo, mid),
+                        new ChunkTask(text, m, starts, chunkSize, results, mid, hi));
+                return;
+            }
+            int from = lo * chunkSize;
+            int to = (int) Math.min(starts, (long) from + chunkSize);
+            MatchBuffer result = new MatchBuffer();
+            // reading m - 1 chars past the chunk finds matches starting in it and no others
+            pattern.search(text.subSequence(from, to + m - 1), index -> result.accept(from + index));
+            results[lo] = result;
+        }
+    }
+}
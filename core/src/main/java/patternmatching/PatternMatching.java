@@ -0,0 +1,621 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Your implementations of various string searching algorithms.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ * @userid ychen3221
+ * @GTID 903531127
+ *
+ * Collaborators: N/A
+ *
+ * Resources: canvas, TA
+ */
+public class PatternMatching {
+
+    /**
+     * Searches for the pattern with the chosen algorithm.
+     *
+     * @param pattern   the pattern you are searching for in a body of text
+     * @param text      the body of text where you search for the pattern
+     * @param algorithm the algorithm to search with
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text or algorithm is null
+     */
+    public static List<Integer> search(CharSequence pattern, CharSequence text, SearchAlgorithm algorithm) {
+        if (algorithm == null) {
+            throw new java.lang.IllegalArgumentException("algorithm cannot be null");
+        }
+        return algorithm.compile(pattern).search(text);
+    }
+
+    /**
+     * Searches for the pattern with the algorithm that should be fastest for
+     * this pattern and text. See {@link AlgorithmSelector#select} for how it
+     * is chosen and to find out which one a query uses. A pattern longer
+     * than the text has no matches, so nothing is compiled.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> search(CharSequence pattern, CharSequence text) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (pattern.length() > text.length()) {
+            // no window fits, so there is nothing to compile or scan
+            return new ArrayList<>();
+        }
+        return AlgorithmSelector.select(pattern, text).compile(pattern).search(text);
+    }
+
+    /**
+     * Knuth-Morris-Pratt (KMP) algorithm relies on the failure table (also
+     * called failure function). Works better with small alphabets.
+     *
+     * Make sure to implement the buildFailureTable() method before implementing
+     * this method.
+     *
+     * @param pattern    the pattern you are searching for in a body of text
+     * @param text       the body of text where you search for pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public static List<Integer> kmp(CharSequence pattern, CharSequence text,
+                                    CharacterComparator comparator) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else {
+            if (pattern.length() > text.length()) {
+                return new ArrayList<>();
+            }
+            KmpPattern compiled = new KmpPattern(pattern.toString(), CharEquivalence.EXACT,
+                    buildFailureTable(pattern, comparator));
+            return compiled.search(text, comparator);
+        }
+    }
+
+    /**
+     * Same as {@link #kmp(CharSequence, CharSequence, CharacterComparator)},
+     * but passes the starting index of each match to the sink instead of
+     * boxing it into a list.
+     *
+     * @param pattern    the pattern you are searching for in a body of text
+     * @param text       the body of text where you search for the pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public static void kmp(CharSequence pattern, CharSequence text,
+                           CharacterComparator comparator, IntConsumer sink) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        } else if (pattern.length() <= text.length()) {
+            KmpPattern compiled = new KmpPattern(pattern.toString(), CharEquivalence.EXACT,
+                    buildFailureTable(pattern, comparator));
+            compiled.search(text, comparator, sink);
+        }
+    }
+
+    /**
+     * Same as {@link #kmp(CharSequence, CharSequence, CharacterComparator)},
+     * but compares primitive chars directly instead of going through a
+     * comparator. For case-insensitive or custom matching, compile a
+     * {@link KmpPattern} with a {@link CharEquivalence}.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> kmp(CharSequence pattern, CharSequence text) {
+        return KmpPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #kmp(CharSequence, CharSequence)}, but searches raw
+     * bytes, so ASCII or UTF-8 data need not be decoded. See
+     * {@link ByteKmpPattern}.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> kmp(byte[] pattern, byte[] text) {
+        return ByteKmpPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #kmp(byte[], byte[])}, but searches the remaining
+     * bytes of a heap or direct buffer without changing its position.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the index in the buffer of each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> kmp(byte[] pattern, ByteBuffer text) {
+        return ByteKmpPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Shift-Or keeps which prefixes of the pattern match as bits of a long
+     * and updates them with one shift and OR per char of text, without the
+     * back-off loop of {@link #kmp(CharSequence, CharSequence)}. Patterns
+     * longer than 64 chars use several longs, and patterns longer than
+     * {@link ShiftOrPattern#MAX_MULTI_WORD_LENGTH} fall back to Two-Way. See
+     * {@link ShiftOrPattern}.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> shiftOr(CharSequence pattern, CharSequence text) {
+        return ShiftOrPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #shiftOr(CharSequence, CharSequence)}, but searches raw
+     * bytes. See {@link ByteShiftOrPattern}.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> shiftOr(byte[] pattern, byte[] text) {
+        return ByteShiftOrPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #shiftOr(byte[], byte[])}, but searches the remaining
+     * bytes of a heap or direct buffer without changing its position.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the index in the buffer of each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> shiftOr(byte[] pattern, ByteBuffer text) {
+        return ByteShiftOrPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Two-Way (Crochemore-Perrin) splits the pattern at a critical
+     * factorization and needs no failure or last occurrence table, so it
+     * takes O(1) extra space and linear time in the worst case. This makes it
+     * the best fit for long patterns. See {@link TwoWayPattern}.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> twoWay(CharSequence pattern, CharSequence text) {
+        return TwoWayPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Builds failure table that will be used to run the Knuth-Morris-Pratt
+     * (KMP) algorithm.
+     *
+     * The table built should be the length of the input pattern.
+     *
+     * Note that a given index i will contain the length of the largest prefix
+     * of the pattern indices [0..i] that is also a suffix of the pattern
+     * indices [1..i]. This means that index 0 of the returned table will always
+     * be equal to 0
+     *
+     * Ex. pattern = ababac
+     *
+     * table[0] = 0
+     * table[1] = 0
+     * table[2] = 1
+     * table[3] = 2
+     * table[4] = 3
+     * table[5] = 0
+     *
+     * If the pattern is empty, return an empty array.
+     *
+     * @param pattern    a pattern you're building a failure table for
+     * @param comparator you MUST use this to check if characters are equal
+     * @return integer array holding your failure table
+     * @throws java.lang.IllegalArgumentException if the pattern or comparator
+     *                                            is null
+     */
+    public static int[] buildFailureTable(CharSequence pattern,
+                                          CharacterComparator comparator) {
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("Pattern cannot be null.");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("Comparator cannot be null.");
+        } else {
+            int[] failureTable = new int[pattern.length()];
+            int prefIndex = 0;
+            int tabIndex = 0;
+            while (tabIndex < pattern.length()) {
+                if (tabIndex == 0) {
+                    failureTable[tabIndex] = 0;
+                    tabIndex++;
+                } else if (comparator.compare(pattern.charAt(tabIndex), pattern.charAt(prefIndex)) == 0) {
+                    failureTable[tabIndex] = prefIndex + 1;
+                    prefIndex++;
+                    tabIndex++;
+                } else if (prefIndex == 0) {
+                    failureTable[tabIndex] = 0;
+                    tabIndex++;
+                } else {
+                    prefIndex = failureTable[prefIndex - 1];
+                }
+            }
+            return failureTable;
+        }
+    }
+
+    /**
+     * Boyer Moore algorithm that relies on last occurrence table. Works better
+     * with large alphabets.
+     *
+     * Make sure to implement the buildLastTable() method before implementing
+     * this method.
+     *
+     * The search looks up mismatched chars in a {@link CharIntTable} rather
+     * than the Map returned by buildLastTable(), so no chars are boxed.
+     *
+     * @param pattern    the pattern you are searching for in a body of text
+     * @param text       the body of text where you search for the pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public static List<Integer> boyerMoore(CharSequence pattern,
+                                           CharSequence text,
+                                           CharacterComparator comparator) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else {
+            if (pattern.length() > text.length()) {
+                return new ArrayList<>();
+            }
+            return BoyerMoorePattern.compile(pattern).search(text, comparator);
+        }
+    }
+
+    /**
+     * Same as {@link #boyerMoore(CharSequence, CharSequence, CharacterComparator)},
+     * but passes the starting index of each match to the sink instead of
+     * boxing it into a list.
+     *
+     * @param pattern    the pattern you are searching for in a body of text
+     * @param text       the body of text where you search for the pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public static void boyerMoore(CharSequence pattern, CharSequence text,
+                                  CharacterComparator comparator, IntConsumer sink) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        } else if (pattern.length() <= text.length()) {
+            BoyerMoorePattern.compile(pattern).search(text, comparator, sink);
+        }
+    }
+
+    /**
+     * Same as {@link #boyerMoore(CharSequence, CharSequence, CharacterComparator)},
+     * but compares primitive chars directly instead of going through a
+     * comparator. For case-insensitive or custom matching, compile a
+     * {@link BoyerMoorePattern} with a {@link CharEquivalence}.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> boyerMoore(CharSequence pattern, CharSequence text) {
+        return BoyerMoorePattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #boyerMoore(CharSequence, CharSequence)}, but searches raw
+     * bytes, so ASCII or UTF-8 data need not be decoded. See
+     * {@link ByteBoyerMoorePattern}.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> boyerMoore(byte[] pattern, byte[] text) {
+        return ByteBoyerMoorePattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #boyerMoore(byte[], byte[])}, but searches the remaining
+     * bytes of a heap or direct buffer without changing its position.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the index in the buffer of each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> boyerMoore(byte[] pattern, ByteBuffer text) {
+        return ByteBoyerMoorePattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Full Boyer-Moore algorithm, using the good suffix and Galil rules on
+     * top of the last occurrence table. Unlike boyerMoore(), this runs in
+     * linear time even for periodic patterns and adversarial text.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> boyerMooreGalil(CharSequence pattern, CharSequence text) {
+        return BoyerMooreGalilPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Builds last occurrence table that will be used to run the Boyer Moore
+     * algorithm.
+     *
+     * Note that each char x will have an entry at table.get(x).
+     * Each entry should be the last index of x where x is a particular
+     * character in your pattern.
+     * If x is not in the pattern, then the table will not contain the key x,
+     * and you will have to check for that in your Boyer Moore implementation.
+     *
+     * Ex. pattern = octocat
+     *
+     * table.get(o) = 3
+     * table.get(c) = 4
+     * table.get(t) = 6
+     * table.get(a) = 5
+     * table.get(everything else) = null, which you will interpret in
+     * Boyer-Moore as -1
+     *
+     * If the pattern is empty, return an empty map.
+     *
+     * @param pattern a pattern you are building last table for
+     * @return a Map with keys of all of the characters in the pattern mapping
+     * to their last occurrence in the pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null
+     */
+    public static Map<Character, Integer> buildLastTable(CharSequence pattern) { // key is char, value is index
+        if (pattern == null) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null");
+        }
+        int m = pattern.length();
+        Map<Character, Integer> lastOccurrenceTable = new HashMap<>();
+        for (int i = 0; i < m; i++) {
+            lastOccurrenceTable.put(pattern.charAt(i), i);
+        }
+        return lastOccurrenceTable;
+    }
+
+    /**
+     * Prime base used for Rabin-Karp hashing.
+     * DO NOT EDIT!
+     */
+    static final int BASE = 113;
+
+    /**
+     * Runs the Rabin-Karp algorithm. This algorithms generates hashes for the
+     * pattern and compares this hash to substrings of the text before doing
+     * character by character comparisons.
+     *
+     * When the hashes are equal and you do character comparisons, compare
+     * starting from the beginning of the pattern to the end, not from the end
+     * to the beginning.
+     *
+     * You must use the Rabin-Karp Rolling Hash for this implementation. The
+     * formula for it is:
+     *
+     * sum of: c * BASE ^ (pattern.length - 1 - i)
+     *   c is the integer value of the current character, and
+     *   i is the index of the character
+     *
+     * We recommend building the hash for the pattern and the first m characters
+     * of the text by starting at index (m - 1) to efficiently exponentiate the
+     * BASE. This allows you to avoid using Math.pow().
+     *
+     * Note that if you were dealing with very large numbers here, your hash
+     * will likely overflow; you will not need to handle this case.
+     * You may assume that all powers and calculations CAN be done without
+     * overflow. However, be careful with how you carry out your calculations.
+     * For example, if BASE^(m - 1) is a number that fits into an int, it's
+     * possible for BASE^m will overflow. So, you would not want to do
+     * BASE^m / BASE to calculate BASE^(m - 1).
+     *
+     * Ex. Hashing "bunn" as a substring of "bunny" with base 113
+     * = (b * 113 ^ 3) + (u * 113 ^ 2) + (n * 113 ^ 1) + (n * 113 ^ 0)
+     * = (98 * 113 ^ 3) + (117 * 113 ^ 2) + (110 * 113 ^ 1) + (110 * 113 ^ 0)
+     * = 142910419
+     *
+     * Another key point of this algorithm is that updating the hash from
+     * one substring to the next substring must be O(1). To update the hash,
+     * subtract the oldChar times BASE raised to the length - 1, multiply by
+     * BASE, and add the newChar as shown by this formula:
+     * (oldHash - oldChar * BASE ^ (pattern.length - 1)) * BASE + newChar
+     *
+     * Ex. Shifting from "bunn" to "unny" in "bunny" with base 113
+     * hash("unny") = (hash("bunn") - b * 113 ^ 3) * 113 + y
+     *              = (142910419 - 98 * 113 ^ 3) * 113 + 121
+     *              = 170236090
+     *
+     * Keep in mind that calculating exponents is not O(1) in general, so you'll
+     * need to keep track of what BASE^(m - 1) is for updating the hash.
+     *
+     * Do NOT use Math.pow() in this method.
+     *
+     * @param pattern    a string you're searching for in a body of text
+     * @param text       the body of text where you search for pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public static List<Integer> rabinKarp(CharSequence pattern,
+                                          CharSequence text,
+                                          CharacterComparator comparator) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else {
+            return RabinKarpPattern.compile(pattern).search(text, comparator);
+        }
+    }
+
+    /**
+     * Same as {@link #rabinKarp(CharSequence, CharSequence, CharacterComparator)},
+     * but passes the starting index of each match to the sink instead of
+     * boxing it into a list.
+     *
+     * @param pattern    the pattern you are searching for in a body of text
+     * @param text       the body of text where you search for the pattern
+     * @param comparator you MUST use this to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public static void rabinKarp(CharSequence pattern, CharSequence text,
+                                 CharacterComparator comparator, IntConsumer sink) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        } else if (pattern.length() <= text.length()) {
+            RabinKarpPattern.compile(pattern).search(text, comparator, sink);
+        }
+    }
+
+    /**
+     * Same as {@link #rabinKarp(CharSequence, CharSequence, CharacterComparator)},
+     * but compares primitive chars directly instead of going through a
+     * comparator. For case-insensitive or custom matching, compile a
+     * {@link RabinKarpPattern} with a {@link CharEquivalence}.
+     *
+     * @param pattern the pattern you are searching for in a body of text
+     * @param text    the body of text where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> rabinKarp(CharSequence pattern, CharSequence text) {
+        return RabinKarpPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #rabinKarp(CharSequence, CharSequence)}, but searches raw
+     * bytes, so ASCII or UTF-8 data need not be decoded. See
+     * {@link ByteRabinKarpPattern}.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> rabinKarp(byte[] pattern, byte[] text) {
+        return ByteRabinKarpPattern.compile(pattern).search(text);
+    }
+
+    /**
+     * Same as {@link #rabinKarp(byte[], byte[])}, but searches the remaining
+     * bytes of a heap or direct buffer without changing its position.
+     *
+     * @param pattern the bytes you are searching for
+     * @param text    the bytes where you search for the pattern
+     * @return list containing the index in the buffer of each match found
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if text is null
+     */
+    public static List<Integer> rabinKarp(byte[] pattern, ByteBuffer text) {
+        return ByteRabinKarpPattern.compile(pattern).search(text);
+    }
+}
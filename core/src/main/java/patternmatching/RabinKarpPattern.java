@@ -0,0 +1,372 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.LongConsumer;
+
+/**
+ * Precompiled Rabin-Karp pattern. The pattern hash and BASE^(m - 1) are
+ * computed once when the pattern is compiled and reused by every search.
+ *
+ * Hashing follows {@link PatternMatching#rabinKarp}, so the same overflow
+ * caveats apply. Under an equivalence other than {@link CharEquivalence#EXACT}
+ * the canonical chars are hashed, so equivalent windows hash the same.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class RabinKarpPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int patHash;
+    private final int power;
+
+    /**
+     * Creates a compiled pattern, hashing its canonical form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private RabinKarpPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        int hash = 0;
+        int pow = 1;
+        for (int i = canonical.length() - 1; i >= 0; i--) {
+            hash = hash + canonical.charAt(i) * pow;
+            if (i != 0) { // ensure not go to base^m
+                pow *= PatternMatching.BASE;
+            }
+        } // after the loop pow will be BASE^(m-1)
+        this.patHash = hash;
+        this.power = pow;
+    }
+
+    /**
+     * Compiles the pattern, computing its hash.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static RabinKarpPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static RabinKarpPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new RabinKarpPattern(pattern.toString(), equivalence);
+    }
+
+    /**
+     * Creates a matcher for a stream of chars that arrives in chunks. Each
+     * matcher keeps its own position in the stream, so one compiled pattern
+     * can serve many streams.
+     *
+     * @param sink receives the offset of each match in the stream, in order
+     * @return a new matcher at the start of a stream
+     * @throws java.lang.IllegalArgumentException if sink is null
+     */
+    public RabinKarpStreamMatcher streamMatcher(LongConsumer sink) {
+        if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        return new RabinKarpStreamMatcher(canonical, equivalence, patHash, power, sink);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, equivalence, true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public void searchNonOverlapping(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, equivalence, false, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    @Override
+    public int indexOf(CharSequence text, int fromIndex) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (fromIndex < 0) {
+            throw new java.lang.IllegalArgumentException("fromIndex cannot be negative");
+        }
+        int[] first = {-1};
+        scan(text, fromIndex, equivalence, true, index -> {
+            first[0] = index;
+            return false;
+        });
+        return first[0];
+    }
+
+    @Override
+    public int count(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return scan(text, 0, equivalence, true, index -> true);
+    }
+
+    @Override
+    public List<Integer> findFirst(CharSequence text, int limit) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (limit < 0) {
+            throw new java.lang.IllegalArgumentException("limit cannot be negative");
+        }
+        List<Integer> list = new ArrayList<>();
+        if (limit > 0) {
+            scan(text, 0, equivalence, true, index -> {
+                list.add(index);
+                return list.size() < limit;
+            });
+        }
+        return list;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt matches(CharSequence text) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        }
+        return new MatchIterator(text);
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal. The comparator is given
+     * canonical chars, so it counts comparisons under the equivalence.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @return list containing the starting index for each match found
+     * @throws java.lang.IllegalArgumentException if text or comparator is null
+     */
+    public List<Integer> search(CharSequence text, CharacterComparator comparator) {
+        List<Integer> list = new ArrayList<>();
+        search(text, comparator, list::add);
+        return list;
+    }
+
+    /**
+     * Searches for every occurrence of the pattern in the text, using the
+     * comparator to check if characters are equal, and passes the starting
+     * index of each match to the sink.
+     *
+     * @param text       the body of text where you search for the pattern
+     * @param comparator used to check if characters are equal
+     * @param sink       receives the starting index of each match, in order
+     * @throws java.lang.IllegalArgumentException if text, comparator or sink
+     *                                            is null
+     */
+    public void search(CharSequence text, CharacterComparator comparator, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (comparator == null) {
+            throw new java.lang.IllegalArgumentException("comparator cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        scan(text, 0, new ComparingCharEquivalence(equivalence, comparator), true, index -> {
+            sink.accept(index);
+            return true;
+        });
+    }
+
+    /**
+     * Runs the Rabin-Karp scan every search of this pattern shares, from the
+     * given index to the end of the text or until the sink asks it to stop.
+     *
+     * @param text        the body of text where you search for the pattern
+     * @param fromIndex   the smallest starting index to report
+     * @param equivalence decides which chars are equal
+     * @param overlapping whether the next match may start inside the last
+     *                    one, or only after it
+     * @param sink        receives the starting index of each match, in
+     *                    order, and returns false to stop the scan
+     * @return the number of matches passed to the sink
+     */
+    private int scan(CharSequence text, int fromIndex, CharEquivalence equivalence, boolean overlapping,
+            IntPredicate sink) {
+        if (fromIndex > text.length() - canonical.length()) {
+            return 0;
+        }
+        return scan(text, fromIndex, hashWindow(text, fromIndex), equivalence, overlapping, sink);
+    }
+
+    /**
+     * Runs the Rabin-Karp scan from a window whose hash is already known.
+     *
+     * @param text        the body of text where you search for the pattern
+     * @param textIndex   the start of the window to check next
+     * @param textHash    the hash of that window, unused if the window does
+     *                    not fit in the text
+     * @param equivalence decides which chars are equal
+     * @param overlapping whether the next match may start inside the last
+     *                    one, or only after it
+     * @param sink        receives the starting index of each match, in
+     *                    order, and returns false to stop the scan
+     * @return the number of matches passed to the sink
+     */
+    private int scan(CharSequence text, int textIndex, int textHash, CharEquivalence equivalence,
+            boolean overlapping, IntPredicate sink) {
+        int m = canonical.length();
+        int count = 0;
+        while (textIndex <= text.length() - m) {
+            if (patHash == textHash) {
+                int patIndex = 0;
+                while (patIndex < m
+                        && equivalence.equivalent(text.charAt(textIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex++;
+                }
+                if (patIndex == m) {
+                    count++;
+                    if (!sink.test(textIndex)) {
+                        return count;
+                    }
+                    if (!overlapping) {
+                        // the next window starts after the match, so hash it afresh
+                        textIndex += m;
+                        if (textIndex <= text.length() - m) {
+                            textHash = hashWindow(text, textIndex);
+                        }
+                        continue;
+                    }
+                }
+            }
+            if (textIndex < text.length() - m) {
+                textHash = rollHash(textHash, text.charAt(textIndex), text.charAt(textIndex + m));
+            }
+            textIndex++;
+        }
+        return count;
+    }
+
+    /**
+     * Hashes the canonical chars of the m chars of the text starting at the
+     * given index, m being the pattern length.
+     *
+     * @param text the text
+     * @param from the start of the window, at most the text length minus m
+     * @return the hash of the window
+     */
+    private int hashWindow(CharSequence text, int from) {
+        int hash = 0;
+        int pow = 1;
+        for (int i = canonical.length() - 1; i >= 0; i--) {
+            hash = hash + equivalence.canonical(text.charAt(from + i)) * pow;
+            pow *= PatternMatching.BASE;
+        }
+        return hash;
+    }
+
+    /**
+     * Use rolling hash algorithm to update text hash.
+     *
+     * @param textHash the current textHash
+     * @param oldFirstChar the first char in the old substring
+     * @param newChar the new char added
+     * @return the new hash for new substring
+     */
+    private int rollHash(int textHash, char oldFirstChar, char newChar) {
+        return (textHash - equivalence.canonical(oldFirstChar) * power) * PatternMatching.BASE
+                + equivalence.canonical(newChar);
+    }
+
+    /**
+     * Lazy Rabin-Karp search, holding the current window and its hash
+     * between matches. Each call runs the shared scan until it reports one
+     * match.
+     */
+    private final class MatchIterator extends LazyMatchIterator implements IntPredicate {
+
+        private final CharSequence text;
+        private int textIndex;
+        private int textHash;
+        private int match;
+
+        /**
+         * Creates an iterator at the start of the text, hashing its first
+         * window.
+         *
+         * @param text the body of text where you search for the pattern
+         */
+        private MatchIterator(CharSequence text) {
+            this.text = text;
+            if (canonical.length() <= text.length()) {
+                this.textHash = hashWindow(text, 0);
+            }
+        }
+
+        @Override
+        int findNext() {
+            match = -1;
+            scan(text, textIndex, textHash, equivalence, true, this);
+            if (match >= 0) {
+                // the matched window hashed to patHash, so roll on from it
+                textIndex = match + 1;
+                if (match < text.length() - canonical.length()) {
+                    textHash = rollHash(patHash, text.charAt(match), text.charAt(match + canonical.length()));
+                }
+            }
+            return match;
+        }
+
+        @Override
+        public boolean test(int index) {
+            match = index;
+            return false;
+        }
+    }
+}
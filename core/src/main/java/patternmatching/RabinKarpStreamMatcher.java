@@ -0,0 +1,97 @@
+package patternmatching;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Streaming Rabin-Karp. The rolling hash keeps going across chunks, and the
+ * current window of m chars, m being the pattern length, is kept in a ring
+ * so the char leaving the window can be unhashed and a hash hit can be
+ * checked. Memory stays O(m) however long the stream is. Created by
+ * {@link RabinKarpPattern#streamMatcher}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class RabinKarpStreamMatcher implements StreamMatcher {
+
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int patHash;
+    private final int power;
+    private final LongConsumer sink;
+    private final char[] window;
+    private int windowStart;
+    private int textHash;
+    private long position;
+
+    /**
+     * Creates a matcher at the start of a stream.
+     *
+     * @param canonical   the canonical pattern
+     * @param equivalence decides which chars are equal
+     * @param patHash     the hash of the canonical pattern
+     * @param power       BASE^(m - 1)
+     * @param sink        receives the offset of each match
+     */
+    RabinKarpStreamMatcher(String canonical, CharEquivalence equivalence, int patHash, int power,
+                           LongConsumer sink) {
+        this.canonical = canonical;
+        this.equivalence = equivalence;
+        this.patHash = patHash;
+        this.power = power;
+        this.sink = sink;
+        this.window = new char[canonical.length()];
+    }
+
+    @Override
+    public void feed(CharSequence chunk) {
+        if (chunk == null) {
+            throw new java.lang.IllegalArgumentException("chunk cannot be null");
+        }
+        int m = window.length;
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (position + i < m) {
+                textHash = textHash * PatternMatching.BASE + equivalence.canonical(c);
+            } else {
+                textHash = (textHash - equivalence.canonical(window[windowStart]) * power) * PatternMatching.BASE
+                        + equivalence.canonical(c);
+            }
+            // the ring is full once m chars are in, so the oldest is replaced
+            window[windowStart] = c;
+            windowStart = windowStart == m - 1 ? 0 : windowStart + 1;
+            if (position + i >= m - 1 && textHash == patHash && windowMatches()) {
+                sink.accept(position + i - m + 1);
+            }
+        }
+        position += chunk.length();
+    }
+
+    /**
+     * Checks the current window against the pattern, after a hash hit.
+     *
+     * @return true if every char of the window is equivalent to the pattern
+     */
+    private boolean windowMatches() {
+        int m = window.length;
+        for (int j = 0; j < m; j++) {
+            int index = windowStart + j < m ? windowStart + j : windowStart + j - m;
+            if (!equivalence.equivalent(window[index], canonical.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void reset() {
+        windowStart = 0;
+        textHash = 0;
+        position = 0;
+    }
+}
@@ -0,0 +1,115 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled Raita pattern.
+ *
+ * Raita shifts like Horspool, but checks the last, first and middle chars of
+ * the window before comparing the rest. Real text tends to share suffixes
+ * with a pattern more often than it shares all three of those chars, so most
+ * windows are rejected after one or two comparisons.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class RaitaPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharIntTable shiftTable;
+
+    /**
+     * Creates a compiled pattern, building the shift table of its canonical
+     * form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private RaitaPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.shiftTable = CharIntTable.horspoolShifts(canonical);
+    }
+
+    /**
+     * Compiles the pattern, building its shift table.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static RaitaPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static RaitaPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new RaitaPattern(pattern.toString(), equivalence);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = canonical.length();
+        int middle = m / 2;
+        char lastChar = canonical.charAt(m - 1);
+        char firstChar = canonical.charAt(0);
+        char middleChar = canonical.charAt(middle);
+        int startIndex = 0;
+        while (startIndex <= text.length() - m) {
+            char last = text.charAt(startIndex + m - 1);
+            if (equivalence.equivalent(last, lastChar)
+                    && equivalence.equivalent(text.charAt(startIndex), firstChar)
+                    && equivalence.equivalent(text.charAt(startIndex + middle), middleChar)) {
+                int patIndex = 1;
+                while (patIndex < m - 1
+                        && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex++;
+                }
+                if (patIndex >= m - 1) {
+                    sink.accept(startIndex);
+                }
+            }
+            startIndex += shiftTable.get(equivalence.canonical(last));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled pattern anchored on its rarest chars.
+ *
+ * When the pattern is compiled, a {@link CharFrequency} table picks its
+ * rarest char and the rarest char at another index. A search scans the text
+ * for the rarest char alone, which for a String is an intrinsic indexOf, and
+ * only where it appears checks the second anchor and then the whole window.
+ * On text where the pattern ends in something common, like 'e' or a space,
+ * this gets far fewer false starts than comparing from the end.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class RareCharPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final CharFrequency frequency;
+    private final int anchor;
+    private final int secondAnchor;
+
+    /**
+     * Creates a compiled pattern, picking its anchors.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     * @param frequency   how common each char is
+     */
+    private RareCharPattern(String pattern, CharEquivalence equivalence, CharFrequency frequency) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        this.frequency = frequency;
+        int[] anchors = frequency.anchors(pattern);
+        this.anchor = anchors[0];
+        this.secondAnchor = anchors[1];
+    }
+
+    /**
+     * Compiles the pattern, anchoring it on its rarest chars in English text.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static RareCharPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT, CharFrequency.ENGLISH);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence,
+     * anchoring it on its rarest chars in English text.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static RareCharPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        return compile(pattern, equivalence, CharFrequency.ENGLISH);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence,
+     * anchoring it on its rarest chars according to the frequency table.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @param frequency   how common each char is in the text to search
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence or frequency
+     *                                            is null
+     */
+    public static RareCharPattern compile(CharSequence pattern, CharEquivalence equivalence,
+                                          CharFrequency frequency) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        } else if (frequency == null) {
+            throw new java.lang.IllegalArgumentException("frequency cannot be null");
+        }
+        return new RareCharPattern(pattern.toString(), equivalence, frequency);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the frequency table the anchors were picked with.
+     *
+     * @return the frequency table
+     */
+    public CharFrequency frequency() {
+        return frequency;
+    }
+
+    /**
+     * Gets the index in the pattern of the rarest char, which is scanned for.
+     *
+     * @return the first anchor
+     */
+    public int anchor() {
+        return anchor;
+    }
+
+    /**
+     * Gets the index in the pattern of the char checked right after the first
+     * anchor. Equal to the first anchor for a pattern of one char.
+     *
+     * @return the second anchor
+     */
+    public int secondAnchor() {
+        return secondAnchor;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        int m = canonical.length();
+        char anchorChar = canonical.charAt(anchor);
+        char secondChar = canonical.charAt(secondAnchor);
+        // index in the text of the anchor of the last window
+        int lastAnchor = text.length() - m + anchor;
+        int textIndex = anchor;
+        while (textIndex <= lastAnchor) {
+            textIndex = indexOf(text, anchorChar, textIndex, lastAnchor + 1);
+            if (textIndex < 0) {
+                return;
+            }
+            int startIndex = textIndex - anchor;
+            if (equivalence.equivalent(text.charAt(startIndex + secondAnchor), secondChar)) {
+                int patIndex = 0;
+                while (patIndex < m
+                        && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex++;
+                }
+                if (patIndex == m) {
+                    sink.accept(startIndex);
+                }
+            }
+            textIndex++;
+        }
+    }
+
+    /**
+     * Finds the first index in [from, to) of a char equivalent to c.
+     *
+     * @param text the text
+     * @param c    the canonical char to look for
+     * @param from the first index to look at
+     * @param to   one past the last index to look at
+     * @return the index, or -1 if there is none
+     */
+    private int indexOf(CharSequence text, char c, int from, int to) {
+        if (equivalence == CharEquivalence.EXACT && text instanceof String) {
+            return ((String) text).indexOf(c, from, to);
+        }
+        for (int i = from; i < to; i++) {
+            if (equivalence.equivalent(text.charAt(i), c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
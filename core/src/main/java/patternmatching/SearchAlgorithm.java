@@ -0,0 +1,158 @@
+package patternmatching;
+
+/**
+ * The string searching algorithms that a pattern can be compiled for, so the
+ * algorithm can be chosen per search.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public enum SearchAlgorithm {
+
+    /**
+     * Knuth-Morris-Pratt, see {@link KmpPattern}.
+     */
+    KMP {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return KmpPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Boyer-Moore with the last occurrence table only, see
+     * {@link BoyerMoorePattern}.
+     */
+    BOYER_MOORE {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return BoyerMoorePattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Boyer-Moore with the good suffix and Galil rules, see
+     * {@link BoyerMooreGalilPattern}.
+     */
+    BOYER_MOORE_GALIL {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return BoyerMooreGalilPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Boyer-Moore-Horspool, see {@link HorspoolPattern}.
+     */
+    HORSPOOL {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return HorspoolPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Sunday (Quick Search), see {@link SundayPattern}.
+     */
+    SUNDAY {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return SundayPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Raita, see {@link RaitaPattern}.
+     */
+    RAITA {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return RaitaPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Rabin-Karp, see {@link RabinKarpPattern}.
+     */
+    RABIN_KARP {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return RabinKarpPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Rabin-Karp hashing modulo 2^61 - 1, see {@link ModularRabinKarpPattern}.
+     */
+    RABIN_KARP_MODULAR {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return ModularRabinKarpPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Scans for the rarest char of the pattern in English text, see
+     * {@link RareCharPattern}.
+     */
+    RARE_CHAR {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return RareCharPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * SIMD first and last char prefilter, see {@link VectorizedPattern}.
+     */
+    VECTORIZED {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return VectorizedPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Bit-parallel Shift-Or, see {@link ShiftOrPattern}.
+     */
+    SHIFT_OR {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return ShiftOrPattern.compile(pattern, equivalence);
+        }
+    },
+
+    /**
+     * Two-Way with constant extra space, see {@link TwoWayPattern}.
+     */
+    TWO_WAY {
+        @Override
+        public CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+            return TwoWayPattern.compile(pattern, equivalence);
+        }
+    };
+
+    /**
+     * Compiles the pattern for this algorithm, comparing chars exactly.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public CompiledPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for this algorithm.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public abstract CompiledPattern compile(CharSequence pattern, CharEquivalence equivalence);
+}
@@ -0,0 +1,228 @@
+package patternmatching;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled Shift-Or (bit-parallel) pattern.
+ *
+ * Bit j of the state is 0 while the last j + 1 chars of the text match the
+ * first j + 1 chars of the pattern. Every text char costs one mask lookup, a
+ * shift and an OR, with no back-off loop as in KMP, so the running time does
+ * not depend on the text at all.
+ *
+ * A pattern of up to 64 chars fits one long. Longer patterns, up to
+ * {@link #MAX_MULTI_WORD_LENGTH} chars, use one long per 64 chars, shifting
+ * the carry from word to word. Beyond that the work per char outgrows a
+ * table-free linear search, so the search is delegated to a
+ * {@link TwoWayPattern}.
+ *
+ * Masks of Latin-1 chars are looked up directly in a 256-entry table; the
+ * few wider chars of a pattern get their own entries through a
+ * {@link CharIntMap}, and every other char shares one all-ones mask.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class ShiftOrPattern implements CompiledPattern {
+
+    /**
+     * The longest pattern searched with bit-parallel state, four longs.
+     */
+    public static final int MAX_MULTI_WORD_LENGTH = 256;
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int words;
+    private final long[] masks;
+    private final CharIntMap wideSlots;
+    private final int missingSlot;
+    private final TwoWayPattern fallback;
+
+    /**
+     * Creates a compiled pattern, building the masks of its canonical form.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private ShiftOrPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        int m = canonical.length();
+        if (m > MAX_MULTI_WORD_LENGTH) {
+            this.words = 0;
+            this.masks = null;
+            this.wideSlots = null;
+            this.missingSlot = 0;
+            this.fallback = TwoWayPattern.compile(pattern, equivalence);
+            return;
+        }
+        this.words = (m + Long.SIZE - 1) / Long.SIZE;
+        // slots 0-255 are the Latin-1 chars, then one per wide char, then the all-ones mask
+        CharIntMap slots = null;
+        int nextSlot = CharIntTable.DENSE_SIZE;
+        for (int j = 0; j < m; j++) {
+            char c = canonical.charAt(j);
+            if (c >= CharIntTable.DENSE_SIZE) {
+                if (slots == null) {
+                    slots = new CharIntMap(m, -1);
+                }
+                if (slots.get(c) == -1) {
+                    slots.put(c, nextSlot++);
+                }
+            }
+        }
+        this.missingSlot = nextSlot;
+        if (slots != null) {
+            CharIntMap wide = new CharIntMap(slots.size(), missingSlot);
+            for (int j = 0; j < m; j++) {
+                char c = canonical.charAt(j);
+                if (c >= CharIntTable.DENSE_SIZE) {
+                    wide.put(c, slots.get(c));
+                }
+            }
+            slots = wide;
+        }
+        this.wideSlots = slots;
+        this.masks = new long[(missingSlot + 1) * words];
+        Arrays.fill(masks, -1L);
+        for (int j = 0; j < m; j++) {
+            masks[slot(canonical.charAt(j)) * words + j / Long.SIZE] &= ~(1L << j);
+        }
+        this.fallback = null;
+    }
+
+    /**
+     * Compiles the pattern, building its masks.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static ShiftOrPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence, building
+     * the masks of its canonical form.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static ShiftOrPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new ShiftOrPattern(pattern.toString(), equivalence);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the number of longs in the state, 0 if the pattern is too long and
+     * searches are delegated to Two-Way.
+     *
+     * @return the number of state words
+     */
+    public int words() {
+        return words;
+    }
+
+    /**
+     * Finds where the mask of a canonical char starts, in units of words.
+     *
+     * @param c the canonical char
+     * @return the slot of its mask
+     */
+    private int slot(char c) {
+        if (c < CharIntTable.DENSE_SIZE) {
+            return c;
+        }
+        return wideSlots == null ? missingSlot : wideSlots.get(c);
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+        } else if (words == 1) {
+            searchOneWord(text, sink);
+        } else {
+            searchMultiWord(text, sink);
+        }
+    }
+
+    /**
+     * Searches with the whole state in one long.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     */
+    private void searchOneWord(CharSequence text, IntConsumer sink) {
+        int m = canonical.length();
+        long matchBit = 1L << (m - 1);
+        long state = -1L;
+        for (int i = 0; i < text.length(); i++) {
+            state = (state << 1) | masks[slot(equivalence.canonical(text.charAt(i)))];
+            if ((state & matchBit) == 0) {
+                sink.accept(i - m + 1);
+            }
+        }
+    }
+
+    /**
+     * Searches with the state spread over several longs, lowest bits first.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     */
+    private void searchMultiWord(CharSequence text, IntConsumer sink) {
+        int m = canonical.length();
+        int lastWord = words - 1;
+        long matchBit = 1L << (m - 1);
+        long[] state = new long[words];
+        Arrays.fill(state, -1L);
+        for (int i = 0; i < text.length(); i++) {
+            int base = slot(equivalence.canonical(text.charAt(i))) * words;
+            long carry = 0;
+            for (int w = 0; w < words; w++) {
+                long word = state[w];
+                state[w] = (word << 1) | carry | masks[base + w];
+                carry = word >>> (Long.SIZE - 1);
+            }
+            if ((state[lastWord] & matchBit) == 0) {
+                sink.accept(i - m + 1);
+            }
+        }
+    }
+}
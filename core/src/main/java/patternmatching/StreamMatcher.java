@@ -0,0 +1,52 @@
+package patternmatching;
+
+import java.nio.CharBuffer;
+
+/**
+ * Searches a stream of chars that arrives in chunks, keeping whatever state
+ * it needs between chunks so that matches spanning a chunk boundary are
+ * found. Matches are reported as absolute offsets from the start of the
+ * stream, as longs, to the sink the matcher was created with.
+ *
+ * Not thread-safe; a matcher belongs to one stream.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public interface StreamMatcher {
+
+    /**
+     * Feeds the next chunk of the stream.
+     *
+     * @param chunk the next chars of the stream
+     * @throws java.lang.IllegalArgumentException if chunk is null
+     */
+    void feed(CharSequence chunk);
+
+    /**
+     * Feeds the remaining chars of the buffer as the next chunk of the
+     * stream, and moves the position of the buffer to its limit, as if they
+     * had been read with get().
+     *
+     * @param chunk the next chars of the stream
+     * @throws java.lang.IllegalArgumentException if chunk is null
+     */
+    default void feed(CharBuffer chunk) {
+        feed((CharSequence) chunk);
+        chunk.position(chunk.limit());
+    }
+
+    /**
+     * Gets the number of chars fed so far, which is the offset of the next
+     * char in the stream.
+     *
+     * @return the stream position
+     */
+    long position();
+
+    /**
+     * Forgets everything fed so far, so the matcher can be used for a new
+     * stream starting at offset 0.
+     */
+    void reset();
+}
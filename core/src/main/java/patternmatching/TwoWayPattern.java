@@ -0,0 +1,247 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled Two-Way (Crochemore-Perrin) pattern, the algorithm behind
+ * glibc's memmem.
+ *
+ * When the pattern is compiled it is split at a critical factorization
+ * u v, found from the maximal suffixes of the pattern under both orders of
+ * the alphabet. A search compares v left to right, then u right to left, and
+ * shifts by the period of the pattern after a match or past the mismatch
+ * otherwise. For a periodic pattern it remembers how much of the prefix is
+ * known to match after a shift, which is what keeps the search linear.
+ *
+ * Unlike KMP or Boyer-Moore there are no tables at all: a compiled pattern
+ * holds two ints beyond the pattern, and a search uses O(1) extra space and
+ * at most 2n comparisons, whatever the text.
+ *
+ * Chars are compared with the {@link CharEquivalence} the pattern was compiled
+ * with, which is {@link CharEquivalence#EXACT} unless another one is given.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class TwoWayPattern implements CompiledPattern {
+
+    private final String pattern;
+    private final String canonical;
+    private final CharEquivalence equivalence;
+    private final int criticalPosition;
+    private final int period;
+    private final boolean periodic;
+
+    /**
+     * Creates a compiled pattern, finding its critical factorization.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     */
+    private TwoWayPattern(String pattern, CharEquivalence equivalence) {
+        this.pattern = pattern;
+        this.canonical = equivalence.canonical(pattern);
+        this.equivalence = equivalence;
+        int m = canonical.length();
+        long less = maximalSuffix(canonical, false);
+        long greater = maximalSuffix(canonical, true);
+        long factorization = (int) less > (int) greater ? less : greater;
+        int position = (int) factorization;
+        int suffixPeriod = (int) (factorization >>> Integer.SIZE);
+        this.criticalPosition = position;
+        if (canonical.regionMatches(0, canonical, suffixPeriod, position + 1)) {
+            this.periodic = true;
+            this.period = suffixPeriod;
+        } else {
+            // the period is larger than either half, so this shift is safe
+            this.periodic = false;
+            this.period = Math.max(position + 1, m - position - 1) + 1;
+        }
+    }
+
+    /**
+     * Compiles the pattern, finding its critical factorization.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static TwoWayPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence, finding
+     * the critical factorization of its canonical form.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static TwoWayPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new TwoWayPattern(pattern.toString(), equivalence);
+    }
+
+    /**
+     * Finds the maximal suffix of the pattern and its period.
+     *
+     * @param pattern  the canonical pattern
+     * @param reversed true to order chars from greatest to least
+     * @return the index just before the maximal suffix in the low 32 bits,
+     *         and the period of the suffix in the high 32 bits
+     */
+    private static long maximalSuffix(String pattern, boolean reversed) {
+        int m = pattern.length();
+        int suffix = -1;
+        int j = 0;
+        int k = 1;
+        int period = 1;
+        while (j + k < m) {
+            char a = pattern.charAt(j + k);
+            char b = pattern.charAt(suffix + k);
+            if (reversed ? a > b : a < b) {
+                j += k;
+                k = 1;
+                period = j - suffix;
+            } else if (a == b) {
+                if (k != period) {
+                    k++;
+                } else {
+                    j += period;
+                    k = 1;
+                }
+            } else {
+                suffix = j;
+                j = suffix + 1;
+                k = 1;
+                period = 1;
+            }
+        }
+        return ((long) period << Integer.SIZE) | (suffix & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the index of the last char of the left half of the critical
+     * factorization, -1 if the left half is empty.
+     *
+     * @return the critical position
+     */
+    public int criticalPosition() {
+        return criticalPosition;
+    }
+
+    /**
+     * Gets the shift after a match: the period of the pattern if it is
+     * periodic, otherwise a lower bound on it.
+     *
+     * @return the shift after a match
+     */
+    public int period() {
+        return period;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (periodic) {
+            searchPeriodic(text, sink);
+        } else {
+            searchNonPeriodic(text, sink);
+        }
+    }
+
+    /**
+     * Searches for a periodic pattern, remembering how much of the left half
+     * already matched after shifting by the period.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     */
+    private void searchPeriodic(CharSequence text, IntConsumer sink) {
+        int m = canonical.length();
+        int n = text.length();
+        int memory = -1;
+        int startIndex = 0;
+        while (startIndex <= n - m) {
+            int patIndex = Math.max(criticalPosition, memory) + 1;
+            while (patIndex < m
+                    && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex++;
+            }
+            if (patIndex < m) {
+                startIndex += patIndex - criticalPosition;
+                memory = -1;
+            } else {
+                patIndex = criticalPosition;
+                while (patIndex > memory
+                        && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex--;
+                }
+                if (patIndex <= memory) {
+                    sink.accept(startIndex);
+                }
+                startIndex += period;
+                memory = m - period - 1;
+            }
+        }
+    }
+
+    /**
+     * Searches for a pattern that is not periodic, which needs no memory.
+     *
+     * @param text the body of text where you search for the pattern
+     * @param sink receives the starting index of each match, in order
+     */
+    private void searchNonPeriodic(CharSequence text, IntConsumer sink) {
+        int m = canonical.length();
+        int n = text.length();
+        int startIndex = 0;
+        while (startIndex <= n - m) {
+            int patIndex = criticalPosition + 1;
+            while (patIndex < m
+                    && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                patIndex++;
+            }
+            if (patIndex < m) {
+                startIndex += patIndex - criticalPosition;
+            } else {
+                patIndex = criticalPosition;
+                while (patIndex >= 0
+                        && equivalence.equivalent(text.charAt(startIndex + patIndex), canonical.charAt(patIndex))) {
+                    patIndex--;
+                }
+                if (patIndex < 0) {
+                    sink.accept(startIndex);
+                }
+                startIndex += period;
+            }
+        }
+    }
+}
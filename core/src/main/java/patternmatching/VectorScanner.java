@@ -0,0 +1,119 @@
+package patternmatching;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vector code behind {@link VectorizedPattern} and
+ * {@link VectorizedBytePattern}, kept apart so that nothing from
+ * jdk.incubator.vector is loaded unless the module is present.
+ *
+ * Two anchor chars of the pattern, by default its first and last, are
+ * broadcast to every lane and compared with the chars at those offsets of a
+ * full vector of windows at once. Only the lanes where both compare equal are
+ * candidates, and only those are checked against the whole pattern.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+final class VectorScanner {
+
+    /**
+     * Chars are compared as shorts, as many as fit the widest vector.
+     */
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private VectorScanner() {
+    }
+
+    /**
+     * Searches text[from, to) for the pattern and passes the index of each
+     * match plus the offset to the sink.
+     *
+     * @param pattern the pattern
+     * @param first   the index in the pattern of the first anchor
+     * @param second  the index in the pattern of the second anchor
+     * @param text    the chars where you search for the pattern
+     * @param from    the first index to search
+     * @param to      one past the last index to search
+     * @param offset  added to every match index
+     * @param sink    receives the index of each match, in order
+     */
+    static void search(char[] pattern, int first, int second, char[] text, int from, int to, int offset,
+                       IntConsumer sink) {
+        int m = pattern.length;
+        int bound = to - m;
+        int lanes = CHARS.length();
+        ShortVector firstChar = ShortVector.broadcast(CHARS, (short) pattern[first]);
+        ShortVector secondChar = ShortVector.broadcast(CHARS, (short) pattern[second]);
+        int start = from;
+        for (; start <= bound - lanes + 1; start += lanes) {
+            long candidates = ShortVector.fromCharArray(CHARS, text, start + first).eq(firstChar)
+                    .and(ShortVector.fromCharArray(CHARS, text, start + second).eq(secondChar))
+                    .toLong();
+            while (candidates != 0) {
+                int candidate = start + Long.numberOfTrailingZeros(candidates);
+                if (Arrays.equals(text, candidate, candidate + m, pattern, 0, m)) {
+                    sink.accept(candidate + offset);
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        for (; start <= bound; start++) {
+            if (text[start + first] == pattern[first] && text[start + second] == pattern[second]
+                    && Arrays.equals(text, start, start + m, pattern, 0, m)) {
+                sink.accept(start + offset);
+            }
+        }
+    }
+
+    /**
+     * Searches text[from, to) for the pattern and passes the index of each
+     * match plus the offset to the sink.
+     *
+     * @param pattern the pattern
+     * @param first   the index in the pattern of the first anchor
+     * @param second  the index in the pattern of the second anchor
+     * @param text    the bytes where you search for the pattern
+     * @param from    the first index to search
+     * @param to      one past the last index to search
+     * @param offset  added to every match index
+     * @param sink    receives the index of each match, in order
+     */
+    static void search(byte[] pattern, int first, int second, byte[] text, int from, int to, int offset,
+                       IntConsumer sink) {
+        int m = pattern.length;
+        int bound = to - m;
+        int lanes = BYTES.length();
+        ByteVector firstByte = ByteVector.broadcast(BYTES, pattern[first]);
+        ByteVector secondByte = ByteVector.broadcast(BYTES, pattern[second]);
+        int start = from;
+        for (; start <= bound - lanes + 1; start += lanes) {
+            long candidates = ByteVector.fromArray(BYTES, text, start + first).eq(firstByte)
+                    .and(ByteVector.fromArray(BYTES, text, start + second).eq(secondByte))
+                    .toLong();
+            while (candidates != 0) {
+                int candidate = start + Long.numberOfTrailingZeros(candidates);
+                if (Arrays.equals(text, candidate, candidate + m, pattern, 0, m)) {
+                    sink.accept(candidate + offset);
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        for (; start <= bound; start++) {
+            if (text[start + first] == pattern[first] && text[start + second] == pattern[second]
+                    && Arrays.equals(text, start, start + m, pattern, 0, m)) {
+                sink.accept(start + offset);
+            }
+        }
+    }
+}
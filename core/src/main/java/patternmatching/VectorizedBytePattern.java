@@ -0,0 +1,158 @@
+package patternmatching;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntConsumer;
+
+/**
+ * Byte pattern searched with the SIMD prefilter of {@link VectorizedPattern},
+ * comparing 32 to 64 windows at a time. Bytes are looked up in a
+ * {@link CharFrequency} as Latin-1 chars, which for UTF-8 text ranks every
+ * byte of a multi-byte char as rare. Arrays and heap buffers are scanned
+ * in place; other buffers are copied through a small block.
+ *
+ * Without jdk.incubator.vector, searches fall back to
+ * {@link ByteBoyerMoorePattern}.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class VectorizedBytePattern implements BytePattern {
+
+    private final byte[] pattern;
+    private final int anchor;
+    private final int secondAnchor;
+    private final ByteBoyerMoorePattern fallback;
+
+    /**
+     * Creates a compiled pattern.
+     *
+     * @param pattern      the pattern, which is not copied
+     * @param anchor       the index of the first anchor
+     * @param secondAnchor the index of the second anchor
+     */
+    private VectorizedBytePattern(byte[] pattern, int anchor, int secondAnchor) {
+        this.pattern = pattern;
+        this.anchor = anchor;
+        this.secondAnchor = secondAnchor;
+        this.fallback = VectorizedPattern.VECTOR_API ? null : ByteBoyerMoorePattern.compile(pattern);
+    }
+
+    /**
+     * Compiles the pattern.
+     *
+     * @param pattern the bytes you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static VectorizedBytePattern compile(byte[] pattern) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        }
+        return new VectorizedBytePattern(pattern.clone(), 0, pattern.length - 1);
+    }
+
+    /**
+     * Compiles the pattern, anchoring the prefilter on its two rarest bytes
+     * according to the frequency table.
+     *
+     * @param pattern   the bytes you will be searching for
+     * @param frequency how common each byte is in the text to search
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if frequency is null
+     */
+    public static VectorizedBytePattern compile(byte[] pattern, CharFrequency frequency) {
+        if (pattern == null || pattern.length == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (frequency == null) {
+            throw new java.lang.IllegalArgumentException("frequency cannot be null");
+        }
+        int[] anchors = frequency.anchors(new String(pattern, StandardCharsets.ISO_8859_1));
+        return new VectorizedBytePattern(pattern.clone(), anchors[0], anchors[1]);
+    }
+
+    @Override
+    public byte[] pattern() {
+        return pattern.clone();
+    }
+
+    @Override
+    public int length() {
+        return pattern.length;
+    }
+
+    /**
+     * Gets the index in the pattern of the first anchor.
+     *
+     * @return the first anchor
+     */
+    public int anchor() {
+        return anchor;
+    }
+
+    /**
+     * Gets the index in the pattern of the second anchor.
+     *
+     * @return the second anchor
+     */
+    public int secondAnchor() {
+        return secondAnchor;
+    }
+
+    /**
+     * Checks if searches with this pattern use the Vector API.
+     *
+     * @return true if searches are vectorized
+     */
+    public boolean isVectorized() {
+        return fallback == null;
+    }
+
+    @Override
+    public void search(byte[] text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+            return;
+        }
+        VectorScanner.search(pattern, anchor, secondAnchor, text, 0, text.length, 0, sink);
+    }
+
+    @Override
+    public void search(ByteBuffer text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+            return;
+        }
+        if (text.hasArray()) {
+            int offset = text.arrayOffset();
+            VectorScanner.search(pattern, anchor, secondAnchor, text.array(), offset + text.position(), offset + text.limit(),
+                    -offset, sink);
+            return;
+        }
+        int m = pattern.length;
+        int end = text.limit();
+        if (m > end - text.position()) {
+            return;
+        }
+        int blockSize = VectorizedPattern.BLOCK_SIZE;
+        byte[] block = new byte[Math.min(end - text.position(), blockSize + m - 1)];
+        for (int blockStart = text.position(); blockStart <= end - m; blockStart += blockSize) {
+            int blockEnd = Math.min(end, blockStart + blockSize + m - 1);
+            text.get(blockStart, block, 0, blockEnd - blockStart);
+            VectorScanner.search(pattern, anchor, secondAnchor, block, 0, blockEnd - blockStart, blockStart, sink);
+        }
+    }
+}
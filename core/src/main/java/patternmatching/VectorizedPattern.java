@@ -0,0 +1,227 @@
+package patternmatching;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Precompiled pattern searched with a SIMD prefilter from the incubating
+ * Vector API. Two anchor chars of the pattern are compared with 16 to 32
+ * windows of the text at a time, depending on the vector width of the
+ * machine, and only the windows where both match are checked char by char.
+ * On text where those two chars are rare together, most of the text is
+ * skipped a whole vector at a time. The anchors are the first and last chars
+ * of the pattern, or its two rarest chars if it is compiled with a
+ * {@link CharFrequency}.
+ *
+ * The text is copied into a small reusable block so it can be loaded into
+ * vectors; Strings are copied with getChars, which is a bulk copy.
+ *
+ * The Vector API lives in the jdk.incubator.vector module, which must be
+ * added with --add-modules jdk.incubator.vector. Without it, or under an
+ * equivalence other than {@link CharEquivalence#EXACT}, searches fall back
+ * to {@link RaitaPattern}, or to {@link RareCharPattern} when compiled with a
+ * frequency table, which check the anchors one window at a time.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public final class VectorizedPattern implements CompiledPattern {
+
+    /**
+     * Whether jdk.incubator.vector was added to the boot layer.
+     */
+    static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    /**
+     * The number of window starts copied into the block at once.
+     */
+    static final int BLOCK_SIZE = 8192;
+
+    private final String pattern;
+    private final char[] chars;
+    private final CharEquivalence equivalence;
+    private final int anchor;
+    private final int secondAnchor;
+    private final CompiledPattern fallback;
+
+    /**
+     * Creates a compiled pattern.
+     *
+     * @param pattern     the pattern
+     * @param equivalence decides which chars are equal
+     * @param frequency   picks the anchors, or null for the first and last
+     *                    chars
+     */
+    private VectorizedPattern(String pattern, CharEquivalence equivalence, CharFrequency frequency) {
+        this.pattern = pattern;
+        this.chars = pattern.toCharArray();
+        this.equivalence = equivalence;
+        if (frequency == null) {
+            this.anchor = 0;
+            this.secondAnchor = pattern.length() - 1;
+        } else {
+            int[] anchors = frequency.anchors(pattern);
+            this.anchor = anchors[0];
+            this.secondAnchor = anchors[1];
+        }
+        if (VECTOR_API && equivalence == CharEquivalence.EXACT) {
+            this.fallback = null;
+        } else if (frequency == null) {
+            this.fallback = RaitaPattern.compile(pattern, equivalence);
+        } else {
+            this.fallback = RareCharPattern.compile(pattern, equivalence, frequency);
+        }
+    }
+
+    /**
+     * Compiles the pattern.
+     *
+     * @param pattern the pattern you will be searching for
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     */
+    public static VectorizedPattern compile(CharSequence pattern) {
+        return compile(pattern, CharEquivalence.EXACT);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence. Only
+     * {@link CharEquivalence#EXACT} is vectorized.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence is null
+     */
+    public static VectorizedPattern compile(CharSequence pattern, CharEquivalence equivalence) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        }
+        return new VectorizedPattern(pattern.toString(), equivalence, null);
+    }
+
+    /**
+     * Compiles the pattern for matching under the given equivalence,
+     * anchoring the prefilter on the two rarest chars of the pattern
+     * according to the frequency table.
+     *
+     * @param pattern     the pattern you will be searching for
+     * @param equivalence decides which chars are equal
+     * @param frequency   how common each char is in the text to search
+     * @return the compiled pattern
+     * @throws java.lang.IllegalArgumentException if the pattern is null or has
+     *                                            length 0
+     * @throws java.lang.IllegalArgumentException if equivalence or frequency
+     *                                            is null
+     */
+    public static VectorizedPattern compile(CharSequence pattern, CharEquivalence equivalence,
+                                            CharFrequency frequency) {
+        if (pattern == null || pattern.length() == 0) {
+            throw new java.lang.IllegalArgumentException("pattern cannot be null or empty (length is 0)");
+        } else if (equivalence == null) {
+            throw new java.lang.IllegalArgumentException("equivalence cannot be null");
+        } else if (frequency == null) {
+            throw new java.lang.IllegalArgumentException("frequency cannot be null");
+        }
+        return new VectorizedPattern(pattern.toString(), equivalence, frequency);
+    }
+
+    /**
+     * Checks if jdk.incubator.vector is present, so that searches under
+     * {@link CharEquivalence#EXACT} are vectorized.
+     *
+     * @return true if the Vector API can be used
+     */
+    public static boolean isVectorApiAvailable() {
+        return VECTOR_API;
+    }
+
+    @Override
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * Gets the equivalence used to compare chars.
+     *
+     * @return the equivalence
+     */
+    public CharEquivalence equivalence() {
+        return equivalence;
+    }
+
+    /**
+     * Gets the index in the pattern of the first anchor.
+     *
+     * @return the first anchor
+     */
+    public int anchor() {
+        return anchor;
+    }
+
+    /**
+     * Gets the index in the pattern of the second anchor.
+     *
+     * @return the second anchor
+     */
+    public int secondAnchor() {
+        return secondAnchor;
+    }
+
+    /**
+     * Checks if searches with this pattern use the Vector API.
+     *
+     * @return true if searches are vectorized
+     */
+    public boolean isVectorized() {
+        return fallback == null;
+    }
+
+    @Override
+    public void search(CharSequence text, IntConsumer sink) {
+        if (text == null) {
+            throw new java.lang.IllegalArgumentException("text cannot be null");
+        } else if (sink == null) {
+            throw new java.lang.IllegalArgumentException("sink cannot be null");
+        }
+        if (fallback != null) {
+            fallback.search(text, sink);
+            return;
+        }
+        int m = chars.length;
+        int n = text.length();
+        if (m > n) {
+            return;
+        }
+        char[] block = new char[Math.min(n, BLOCK_SIZE + m - 1)];
+        for (int blockStart = 0; blockStart <= n - m; blockStart += BLOCK_SIZE) {
+            int blockEnd = Math.min(n, blockStart + BLOCK_SIZE + m - 1);
+            copy(text, blockStart, blockEnd, block);
+            VectorScanner.search(chars, anchor, secondAnchor, block, 0, blockEnd - blockStart, blockStart, sink);
+        }
+    }
+
+    /**
+     * Copies text[from, to) to the start of the block.
+     *
+     * @param text  the text
+     * @param from  the first index to copy
+     * @param to    one past the last index to copy
+     * @param block where the chars are copied to
+     */
+    private static void copy(CharSequence text, int from, int to, char[] block) {
+        if (text instanceof String) {
+            ((String) text).getChars(from, to, block, 0);
+        } else if (text instanceof StringBuilder) {
+            ((StringBuilder) text).getChars(from, to, block, 0);
+        } else {
+            for (int i = from; i < to; i++) {
+                block[i - from] = text.charAt(i);
+            }
+        }
+    }
+}
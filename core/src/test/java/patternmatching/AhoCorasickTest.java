@@ -0,0 +1,74 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the Aho-Corasick automaton.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class AhoCorasickTest {
+
+    private static final int TIMEOUT = 500;
+
+    @Test(timeout = TIMEOUT)
+    public void testClassicExample() {
+        AhoCorasick automaton = AhoCorasick.compile(Arrays.asList("he", "she", "his", "hers"));
+        assertEquals(Arrays.asList(new MultiMatch(1, 1), new MultiMatch(0, 2), new MultiMatch(3, 2)),
+                automaton.search("ushers"));
+        assertEquals(4, automaton.patternCount());
+        assertEquals("his", automaton.pattern(2));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testDuplicateAndNestedPatterns() {
+        AhoCorasick automaton = AhoCorasick.compile(Arrays.asList("a", "aa", "a"));
+        assertEquals(Arrays.asList(new MultiMatch(0, 0), new MultiMatch(2, 0),
+                new MultiMatch(1, 0), new MultiMatch(0, 1), new MultiMatch(2, 1)),
+                automaton.search("aa"));
+        assertEquals(Collections.emptyList(), automaton.search("bbb"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithKmpPerPattern() {
+        Random random = new Random(1332);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            patterns.add(TestStrings.randomString(random, 3, 1 + random.nextInt(5)));
+        }
+        String text = TestStrings.randomString(random, 3, 2000);
+        List<MultiMatch> expected = new ArrayList<>();
+        for (int id = 0; id < patterns.size(); id++) {
+            for (int start : PatternMatching.kmp(patterns.get(id), text)) {
+                expected.add(new MultiMatch(id, start));
+            }
+        }
+        List<MultiMatch> actual = AhoCorasick.compile(patterns).search(text);
+        Comparator<MultiMatch> order = Comparator.comparingInt(MultiMatch::startIndex)
+                .thenComparingInt(MultiMatch::patternId);
+        expected.sort(order);
+        actual.sort(order);
+        assertEquals(expected, actual);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWideChars() {
+        AhoCorasick automaton = AhoCorasick.compile(Arrays.asList("中文", "文"));
+        assertEquals(Arrays.asList(new MultiMatch(0, 1), new MultiMatch(1, 2)), automaton.search("说中文"));
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        AhoCorasick.compile(Arrays.asList("a", ""));
+    }
+}
@@ -0,0 +1,104 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the adaptive algorithm selector.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class AlgorithmSelectorTest {
+
+    private static final int TIMEOUT = 500;
+
+    private static final String DNA = randomString("ACGTN\n", AlgorithmSelector.SHORT_TEXT);
+
+    private static final String ENGLISH = randomString("the quick brown fox jumps over a lazy dog",
+            AlgorithmSelector.SHORT_TEXT);
+
+    @Test(timeout = TIMEOUT)
+    public void testPeriodicPatterns() {
+        assertEquals(SearchAlgorithm.SHIFT_OR, AlgorithmSelector.select("abababab", ENGLISH));
+        assertEquals(SearchAlgorithm.SHIFT_OR, AlgorithmSelector.select("aaaa", "aaaa"));
+        assertEquals(SearchAlgorithm.TWO_WAY, AlgorithmSelector.select("abc".repeat(40), ENGLISH));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSmallAlphabet() {
+        assertEquals(SearchAlgorithm.SHIFT_OR, AlgorithmSelector.select("GATTACA", DNA));
+        assertEquals(vectorizedOr(SearchAlgorithm.HORSPOOL),
+                AlgorithmSelector.select("GATTACA", DNA.substring(0, 100)));
+        String random = randomString("ACGT", 100);
+        assertEquals(vectorizedOr(SearchAlgorithm.RAITA), AlgorithmSelector.select(random, DNA));
+        String veryLong = randomString("ACGT", AlgorithmSelector.VERY_LONG_PATTERN);
+        assertEquals(SearchAlgorithm.RAITA, AlgorithmSelector.select(veryLong, DNA));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLargeAlphabet() {
+        assertEquals(vectorizedOr(SearchAlgorithm.RARE_CHAR), AlgorithmSelector.select("needle", ENGLISH));
+        String longPattern = randomString("abcdefghijklmnopqrstuvwxyz", AlgorithmSelector.LONG_PATTERN);
+        assertEquals(SearchAlgorithm.RAITA, AlgorithmSelector.select(longPattern, ENGLISH));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWideChars() {
+        assertEquals(SearchAlgorithm.RARE_CHAR, AlgorithmSelector.select("中文字", ENGLISH));
+        String longPattern = randomString("中文字abc", AlgorithmSelector.VERY_LONG_PATTERN);
+        assertEquals(SearchAlgorithm.HORSPOOL, AlgorithmSelector.select(longPattern, ENGLISH));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPatternLongerThanText() {
+        assertEquals(SearchAlgorithm.TWO_WAY, AlgorithmSelector.select("abc", "ab"));
+        assertEquals(Collections.emptyList(), PatternMatching.search("abc", "ab"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSearchAgreesWithKmp() {
+        Random random = new Random(42);
+        String[] alphabets = {"ACGT", "abcdefghij", "ab中文"};
+        for (int round = 0; round < 300; round++) {
+            String alphabet = alphabets[round % alphabets.length];
+            String text = TestStrings.randomString(random, alphabet, 50 + random.nextInt(5000));
+            int start = random.nextInt(text.length() - 10);
+            String pattern = text.substring(start, start + 1 + random.nextInt(10));
+            assertEquals(PatternMatching.kmp(pattern, text), PatternMatching.search(pattern, text));
+        }
+        assertEquals(Arrays.asList(0, 2), PatternMatching.search("aba", "ababa"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullText() {
+        AlgorithmSelector.select("a", null);
+    }
+
+    /**
+     * Gets the engine the selector picks where the SIMD prefilter wins, which
+     * depends on whether the JVM was started with the Vector API module.
+     *
+     * @param fallback the engine picked without the Vector API
+     * @return VECTORIZED if the Vector API is available, else fallback
+     */
+    private static SearchAlgorithm vectorizedOr(SearchAlgorithm fallback) {
+        return VectorizedPattern.isVectorApiAvailable() ? SearchAlgorithm.VECTORIZED : fallback;
+    }
+
+    /**
+     * Builds a seeded random string.
+     *
+     * @param alphabet the chars to draw from
+     * @param length   the length of the string
+     * @return the string
+     */
+    private static String randomString(String alphabet, int length) {
+        return TestStrings.randomString(new Random(length), alphabet, length);
+    }
+}
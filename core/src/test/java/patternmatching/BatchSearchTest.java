@@ -0,0 +1,171 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the batch search.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class BatchSearchTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testResultsInDocumentOrder() throws InterruptedException {
+        List<String> documents = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            documents.add("x".repeat(i % 7) + "abc" + (i % 3 == 0 ? "abc" : ""));
+        }
+        CompiledPattern pattern = BoyerMoorePattern.compile("abc");
+        List<List<Integer>> results = new BatchSearch(pattern).search(documents);
+        assertEquals(documents.size(), results.size());
+        for (int i = 0; i < documents.size(); i++) {
+            assertEquals(pattern.search(documents.get(i)), results.get(i));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testKeyedByDocument() throws InterruptedException {
+        Map<String, String> documents = new LinkedHashMap<>();
+        documents.put("b", "ab ab");
+        documents.put("a", "none");
+        documents.put("c", "ab");
+        Map<String, List<Integer>> results = new BatchSearch(KmpPattern.compile("ab")).search(documents);
+        assertEquals(Arrays.asList("b", "a", "c"), new ArrayList<>(results.keySet()));
+        assertEquals(Arrays.asList(0, 3), results.get("b"));
+        assertEquals(Collections.emptyList(), results.get("a"));
+        assertEquals(Arrays.asList(0), results.get("c"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStreamWithBoundedExecutorAndBackpressure() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CompiledPattern slow = new CompiledPattern() {
+            private final CompiledPattern delegate = RabinKarpPattern.compile("aa");
+
+            @Override
+            public String pattern() {
+                return delegate.pattern();
+            }
+
+            @Override
+            public void search(CharSequence text, IntConsumer sink) {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                delegate.search(text, sink);
+                running.decrementAndGet();
+            }
+        };
+        try {
+            Map<Long, List<Integer>> results = new ConcurrentHashMap<>();
+            new BatchSearch(slow, executor, 2).search(IntStream.range(0, 500).mapToObj("a"::repeat),
+                    results::put);
+            assertEquals(500, results.size());
+            assertEquals(Arrays.asList(0, 1, 2), results.get(4L));
+            assertTrue(maxRunning.get() <= 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testErrorIsRethrown() throws InterruptedException {
+        StackOverflowError error = new StackOverflowError();
+        CompiledPattern failing = new CompiledPattern() {
+            @Override
+            public String pattern() {
+                return "a";
+            }
+
+            @Override
+            public void search(CharSequence text, IntConsumer sink) {
+                if (text.length() == 3) {
+                    throw error;
+                }
+            }
+        };
+        try {
+            new BatchSearch(failing).search(Arrays.asList("a", "aa", "aaa", "aaaa"));
+            fail("the error was not rethrown");
+        } catch (StackOverflowError e) {
+            assertSame(error, e);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRejectedWaitsForRunningSearches() throws InterruptedException {
+        AtomicBoolean finished = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        CompiledPattern slow = new CompiledPattern() {
+            @Override
+            public String pattern() {
+                return "a";
+            }
+
+            @Override
+            public void search(CharSequence text, IntConsumer sink) {
+                started.countDown();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.set(true);
+            }
+        };
+        AtomicInteger submitted = new AtomicInteger();
+        Executor rejectSecond = task -> {
+            if (submitted.getAndIncrement() > 0) {
+                // reject only once the first search is running, or it would be skipped
+                try {
+                    started.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new RejectedExecutionException("full");
+            }
+            new Thread(task).start();
+        };
+        try {
+            new BatchSearch(slow, rejectSecond, 4).search(Arrays.asList("a", "b"));
+            fail("the rejection was not rethrown");
+        } catch (RejectedExecutionException e) {
+            assertTrue(finished.get());
+        }
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullDocument() throws InterruptedException {
+        new BatchSearch(KmpPattern.compile("a")).search(Arrays.asList("a", null, "b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxInFlightZero() {
+        new BatchSearch(KmpPattern.compile("a"), null, 0);
+    }
+}
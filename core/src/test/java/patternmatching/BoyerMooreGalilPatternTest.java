@@ -0,0 +1,59 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the full Boyer-Moore algorithm with the Galil rule.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class BoyerMooreGalilPatternTest {
+
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testBuildGoodSuffixTable() {
+        assertArrayEquals(new int[] {2, 2, 2, 4, 1}, BoyerMooreGalilPattern.buildGoodSuffixTable("abab"));
+        assertArrayEquals(new int[] {1, 1, 2, 3}, BoyerMooreGalilPattern.buildGoodSuffixTable("aaa"));
+        assertArrayEquals(new int[] {6, 6, 6, 6, 6, 6, 1}, BoyerMooreGalilPattern.buildGoodSuffixTable("ababac"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPeriodicPattern() {
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8, 13, 15),
+                PatternMatching.boyerMooreGalil("abab", "ababababababcababab"));
+        assertEquals(2, BoyerMooreGalilPattern.compile("abab").period());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLinearComparisonsOnPeriodicText() {
+        char[] chars = new char[10000];
+        Arrays.fill(chars, 'a');
+        String text = new String(chars);
+        String pattern = text.substring(0, 100);
+        CountingCharEquivalence counting = new CountingCharEquivalence(CharEquivalence.EXACT);
+        assertEquals(text.length() - pattern.length() + 1,
+                BoyerMooreGalilPattern.compile(pattern, counting).search(text).size());
+        // the Galil rule compares each text char once after the first match
+        assertTrue(counting.getComparisonCount() <= 2L * text.length());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithKmpOnRandomText() {
+        Random random = new Random(1332);
+        for (int round = 0; round < 200; round++) {
+            String text = TestStrings.randomString(random, 3, 200);
+            String pattern = TestStrings.randomString(random, 3, 1 + random.nextInt(6));
+            assertEquals(PatternMatching.kmp(pattern, text),
+                    PatternMatching.boyerMooreGalil(pattern, text));
+        }
+    }
+}
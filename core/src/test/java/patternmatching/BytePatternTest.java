@@ -0,0 +1,125 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the byte-oriented matchers.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class BytePatternTest {
+
+    private static final int TIMEOUT = 500;
+
+    private static List<BytePattern> compileAll(byte[] pattern) {
+        return Arrays.asList(ByteKmpPattern.compile(pattern), ByteBoyerMoorePattern.compile(pattern),
+                ByteRabinKarpPattern.compile(pattern));
+    }
+
+    private static List<Integer> naive(byte[] pattern, byte[] text) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i + pattern.length <= text.length; i++) {
+            if (Arrays.equals(pattern, 0, pattern.length, text, i, i + pattern.length)) {
+                list.add(i);
+            }
+        }
+        return list;
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUtf8MatchesCharSearch() {
+        String text = "naïve café, naïve CAFÉ, ünïcödé naïve";
+        String pattern = "naïve";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        byte[] pat = pattern.getBytes(StandardCharsets.UTF_8);
+        List<Integer> expected = new ArrayList<>();
+        for (int index : PatternMatching.kmp(pattern, text)) {
+            expected.add(text.substring(0, index).getBytes(StandardCharsets.UTF_8).length);
+        }
+        assertEquals(3, expected.size());
+        for (BytePattern compiled : compileAll(pat)) {
+            assertEquals(expected, compiled.search(bytes));
+        }
+        assertEquals(expected, PatternMatching.kmp(pat, bytes));
+        assertEquals(expected, PatternMatching.boyerMoore(pat, bytes));
+        assertEquals(expected, PatternMatching.rabinKarp(pat, bytes));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRandomBytes() {
+        Random random = new Random(1332);
+        for (int trial = 0; trial < 200; trial++) {
+            byte[] text = new byte[random.nextInt(300)];
+            for (int i = 0; i < text.length; i++) {
+                text[i] = (byte) (0xFE + random.nextInt(3));
+            }
+            byte[] pattern = new byte[1 + random.nextInt(6)];
+            for (int i = 0; i < pattern.length; i++) {
+                pattern[i] = (byte) (0xFE + random.nextInt(3));
+            }
+            List<Integer> expected = naive(pattern, text);
+            for (BytePattern compiled : compileAll(pattern)) {
+                assertEquals(expected, compiled.search(text));
+                assertEquals(expected, compiled.search(ByteBuffer.wrap(text)));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBuffers() {
+        byte[] bytes = "xxabcabcab".getBytes(StandardCharsets.US_ASCII);
+        byte[] pattern = "abcab".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        ByteBuffer readOnly = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        for (BytePattern compiled : compileAll(pattern)) {
+            assertEquals(Arrays.asList(2, 5), compiled.search(direct));
+            assertEquals(Arrays.asList(2, 5), compiled.search(readOnly));
+
+            // only the remaining bytes are searched, and indices are absolute
+            direct.position(3);
+            assertEquals(Arrays.asList(5), compiled.search(direct));
+            assertEquals(3, direct.position());
+            direct.position(0);
+
+            // a slice reports indices relative to its own start
+            ByteBuffer slice = ByteBuffer.wrap(bytes, 1, 9).slice();
+            assertEquals(Arrays.asList(1, 4), compiled.search(slice));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPatternIsCopied() {
+        byte[] pattern = {1, 2};
+        BytePattern compiled = ByteBoyerMoorePattern.compile(pattern);
+        pattern[0] = 3;
+        assertArrayEquals(new byte[] {1, 2}, compiled.pattern());
+        assertEquals(Arrays.asList(1), compiled.search(new byte[] {3, 1, 2}));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testByteFailureTable() {
+        assertArrayEquals(new int[] {0, 0, 1, 2, 3, 0},
+                ByteKmpPattern.buildFailureTable("ababac".getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        ByteRabinKarpPattern.compile(new byte[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullText() {
+        ByteKmpPattern.compile(new byte[] {1}).search((byte[]) null);
+    }
+}
@@ -0,0 +1,70 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for CharEquivalence and the comparator-free search methods.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class CharEquivalenceTest {
+
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testComparatorFreeOverloads() {
+        String text = "ababaaababa";
+        assertEquals(Arrays.asList(0, 6), PatternMatching.kmp("ababa", text));
+        assertEquals(Arrays.asList(0, 6), PatternMatching.boyerMoore("ababa", text));
+        assertEquals(Arrays.asList(0, 6), PatternMatching.rabinKarp("ababa", text));
+        assertEquals(Collections.emptyList(), PatternMatching.kmp("ababaaababaa", text));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        String text = "She sells SeaShells by the SEASHORE.";
+        CompiledPattern[] compiled = {
+            KmpPattern.compile("sEa", CharEquivalence.CASE_INSENSITIVE),
+            BoyerMoorePattern.compile("sEa", CharEquivalence.CASE_INSENSITIVE),
+            RabinKarpPattern.compile("sEa", CharEquivalence.CASE_INSENSITIVE)
+        };
+        for (CompiledPattern p : compiled) {
+            assertEquals("sEa", p.pattern());
+            assertEquals(Arrays.asList(10, 27), p.search(text));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCountingMatchesComparatorCount() {
+        // same search as PatternMatchingStudentTest.testKMPMatch, minus the
+        // failure table, which is built before counting starts
+        CountingCharEquivalence counting = new CountingCharEquivalence(CharEquivalence.EXACT);
+        KmpPattern pattern = KmpPattern.compile("ababa", counting);
+        assertEquals(Arrays.asList(0, 6), pattern.search("ababaaababa"));
+        assertEquals(14, counting.getComparisonCount());
+        counting.reset();
+        assertEquals(0, counting.getComparisonCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCountingBoyerMoore() {
+        CountingCharEquivalence counting = new CountingCharEquivalence(CharEquivalence.EXACT);
+        CharacterComparator comparator = new CharacterComparator();
+        String pattern = "abab";
+        String text = "ababababababcababab";
+        assertEquals(PatternMatching.boyerMoore(pattern, text, comparator),
+                BoyerMoorePattern.compile(pattern, counting).search(text));
+        assertEquals(comparator.getComparisonCount(), counting.getComparisonCount());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testNullEquivalence() {
+        KmpPattern.compile("a", null);
+    }
+}
@@ -0,0 +1,63 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for CharIntTable and CharIntMap.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class CharIntTableTest {
+
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testLatin1PatternIsDense() {
+        CharIntTable table = CharIntTable.lastOccurrence("octocat");
+        assertTrue(table.isDense());
+        assertEquals(3, table.get('o'));
+        assertEquals(4, table.get('c'));
+        assertEquals(6, table.get('t'));
+        assertEquals(5, table.get('a'));
+        assertEquals(-1, table.get('z'));
+        assertEquals(-1, table.get('中'));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWidePatternMatchesMap() {
+        String pattern = "αβα ab中文β";
+        CharIntTable table = CharIntTable.lastOccurrence(pattern);
+        assertFalse(table.isDense());
+        Map<Character, Integer> expected = PatternMatching.buildLastTable(pattern);
+        for (char c = 0; c < Character.MAX_VALUE; c++) {
+            assertEquals((int) expected.getOrDefault(c, -1), table.get(c));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMapGrowsAndOverwrites() {
+        CharIntMap map = new CharIntMap(1, -7);
+        for (char c = 0x400; c < 0x600; c++) {
+            map.put(c, c);
+        }
+        map.put((char) 0x400, 42);
+        assertEquals(0x200, map.size());
+        assertEquals(42, map.get((char) 0x400));
+        assertEquals(0x5ff, map.get((char) 0x5ff));
+        assertEquals(-7, map.get('a'));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBoyerMooreWideAlphabet() {
+        String text = "中文中文文 中文";
+        assertEquals(PatternMatching.kmp("中文", text, new CharacterComparator()),
+                BoyerMoorePattern.compile("中文").search(text));
+    }
+}
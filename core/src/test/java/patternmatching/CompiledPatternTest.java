@@ -0,0 +1,75 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the precompiled patterns.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class CompiledPatternTest {
+
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testKmpFailureTableMatchesComparatorVersion() {
+        String pattern = "ababac";
+        assertArrayEquals(PatternMatching.buildFailureTable(pattern, new CharacterComparator()),
+                KmpPattern.buildFailureTable(pattern));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReuseAcrossTexts() {
+        CompiledPattern[] compiled = {
+            KmpPattern.compile("aba"),
+            BoyerMoorePattern.compile("aba"),
+            RabinKarpPattern.compile("aba")
+        };
+        for (CompiledPattern p : compiled) {
+            assertEquals("aba", p.pattern());
+            assertEquals(Arrays.asList(0, 2, 7), p.search("abababxaba"));
+            assertEquals(Collections.emptyList(), p.search("ab"));
+            assertEquals(Arrays.asList(1), p.search("xaba"));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSameResultsAsStaticMethods() {
+        String text = "She sells seashells by the seashore.";
+        for (String pattern : new String[] {"s", "se", "sea", "sells", "shore.", "zz"}) {
+            List<Integer> expected = PatternMatching.kmp(pattern, text, new CharacterComparator());
+            assertEquals(expected, KmpPattern.compile(pattern).search(text));
+            assertEquals(expected, BoyerMoorePattern.compile(pattern).search(text));
+            assertEquals(expected, RabinKarpPattern.compile(pattern).search(text));
+            assertEquals(expected, PatternMatching.boyerMoore(pattern, text, new CharacterComparator()));
+            assertEquals(expected, PatternMatching.rabinKarp(pattern, text, new CharacterComparator()));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testComparatorSearchCountsComparisons() {
+        CharacterComparator comparator = new CharacterComparator();
+        KmpPattern pattern = KmpPattern.compile("ababa");
+        assertEquals(Arrays.asList(0, 6), pattern.search("ababaaababa", comparator));
+        // same as PatternMatching.kmp minus the 4 comparisons of the failure table
+        assertEquals(14, comparator.getComparisonCount());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testCompileEmptyPattern() {
+        BoyerMoorePattern.compile("");
+    }
+
+    @Test(timeout = TIMEOUT, expected = IllegalArgumentException.class)
+    public void testSearchNullText() {
+        RabinKarpPattern.compile("a").search(null);
+    }
+}
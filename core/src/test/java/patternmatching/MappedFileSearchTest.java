@@ -0,0 +1,105 @@
+package patternmatching;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for searching memory-mapped files.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class MappedFileSearchTest {
+
+    private static final int TIMEOUT = 500;
+
+    private static final SearchAlgorithm[] BYTE_ALGORITHMS = {
+        SearchAlgorithm.KMP, SearchAlgorithm.BOYER_MOORE, SearchAlgorithm.RABIN_KARP
+    };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(byte[] bytes) throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static List<Long> naive(byte[] pattern, byte[] text) {
+        List<Long> list = new ArrayList<>();
+        for (int i = 0; i + pattern.length <= text.length; i++) {
+            if (Arrays.equals(pattern, 0, pattern.length, text, i, i + pattern.length)) {
+                list.add((long) i);
+            }
+        }
+        return list;
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSearchFile() throws IOException {
+        Path file = write("abababxaba".getBytes(StandardCharsets.US_ASCII));
+        for (SearchAlgorithm algorithm : BYTE_ALGORITHMS) {
+            MappedFileSearch search = MappedFileSearch.compile("aba", StandardCharsets.US_ASCII, algorithm);
+            assertEquals(algorithm.name(), Arrays.asList(0L, 2L, 7L), search.search(file));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesAcrossWindows() throws IOException {
+        Random random = new Random(1332);
+        byte[] text = new byte[2000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) (random.nextInt(2) == 0 ? 'a' : 0xE9);
+        }
+        byte[] pattern = Arrays.copyOfRange(text, 100, 107);
+        Path file = write(text);
+        List<Long> expected = naive(pattern, text);
+        for (SearchAlgorithm algorithm : BYTE_ALGORITHMS) {
+            for (int windowSize : new int[] {7, 13, 64, 1000, 2000, MappedFileSearch.DEFAULT_WINDOW_SIZE}) {
+                MappedFileSearch search = MappedFileSearch.compile(pattern, algorithm, windowSize);
+                assertEquals(algorithm + " " + windowSize, expected, search.search(file));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUtf8Offsets() throws IOException {
+        Path file = write("héllo héllo".getBytes(StandardCharsets.UTF_8));
+        MappedFileSearch search = MappedFileSearch.compile("hé", StandardCharsets.UTF_8,
+                SearchAlgorithm.BOYER_MOORE);
+        assertEquals(Arrays.asList(0L, 7L), search.search(file));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testFileShorterThanPattern() throws IOException {
+        Path empty = write(new byte[0]);
+        Path shorter = write(new byte[] {1, 2});
+        MappedFileSearch search = MappedFileSearch.compile(new byte[] {1, 2, 3}, SearchAlgorithm.KMP);
+        assertEquals(Collections.emptyList(), search.search(empty));
+        assertEquals(Collections.emptyList(), search.search(shorter));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAlgorithmWithoutByteImplementation() {
+        MappedFileSearch.compile(new byte[] {1}, SearchAlgorithm.SUNDAY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowSmallerThanPattern() {
+        MappedFileSearch.compile(new byte[] {1, 2, 3}, SearchAlgorithm.KMP, 2);
+    }
+}
@@ -0,0 +1,76 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for MatchBuffer and the sink based search methods.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class MatchBufferTest {
+
+    private static final int TIMEOUT = 200;
+
+    @Test(timeout = TIMEOUT)
+    public void testGrowAndClear() {
+        MatchBuffer buffer = new MatchBuffer(0);
+        assertTrue(buffer.isEmpty());
+        for (int i = 0; i < 100; i++) {
+            buffer.accept(i * 2);
+        }
+        assertEquals(100, buffer.size());
+        assertEquals(198, buffer.get(99));
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertArrayEquals(new int[0], buffer.toArray());
+    }
+
+    @Test(timeout = TIMEOUT, expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        MatchBuffer buffer = new MatchBuffer();
+        buffer.accept(3);
+        buffer.get(1);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSearchIntoReusesBuffer() {
+        MatchBuffer buffer = new MatchBuffer();
+        CompiledPattern[] compiled = {
+            KmpPattern.compile("a"),
+            BoyerMoorePattern.compile("a"),
+            RabinKarpPattern.compile("a")
+        };
+        for (CompiledPattern p : compiled) {
+            assertSame(buffer, p.searchInto("aabca", buffer));
+            assertArrayEquals(new int[] {0, 1, 4}, buffer.toArray());
+            p.searchInto("xxa", buffer);
+            assertArrayEquals(new int[] {2}, buffer.toArray());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testComparatorSinkOverloads() {
+        String pattern = "sea";
+        String text = "She sells seashells by the seashore.";
+        MatchBuffer buffer = new MatchBuffer();
+        PatternMatching.kmp(pattern, text, new CharacterComparator(), buffer);
+        assertEquals("[10, 27]", buffer.toString());
+        buffer.clear();
+        PatternMatching.boyerMoore(pattern, text, new CharacterComparator(), buffer);
+        assertEquals("[10, 27]", buffer.toString());
+        buffer.clear();
+        PatternMatching.rabinKarp(pattern, text, new CharacterComparator(), buffer);
+        assertEquals("[10, 27]", buffer.toString());
+        buffer.clear();
+        PatternMatching.kmp("seashore..", text, new CharacterComparator(), buffer);
+        assertEquals(Arrays.toString(new int[0]), buffer.toString());
+    }
+}
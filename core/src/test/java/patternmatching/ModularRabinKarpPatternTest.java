@@ -0,0 +1,81 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the modular Rabin-Karp pattern and MersenneHash.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class ModularRabinKarpPatternTest {
+
+    private static final int TIMEOUT = 500;
+
+    @Test(timeout = TIMEOUT)
+    public void testMultiplyMatchesBigInteger() {
+        Random random = new Random(1332);
+        BigInteger modulus = BigInteger.valueOf(MersenneHash.MODULUS);
+        for (int i = 0; i < 1000; i++) {
+            long a = Math.floorMod(random.nextLong(), MersenneHash.MODULUS);
+            long b = Math.floorMod(random.nextLong(), MersenneHash.MODULUS);
+            long expected = BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).mod(modulus).longValue();
+            assertEquals(expected, MersenneHash.multiply(a, b));
+        }
+        assertEquals(1, MersenneHash.multiply(MersenneHash.MODULUS - 1, MersenneHash.MODULUS - 1));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testNoCollisionWhereBase113Collides() {
+        // PatternMatchingTest.rabinKarpCollision: both windows hash to 114 with BASE = 113
+        ModularRabinKarpPattern pattern = ModularRabinKarpPattern.compile("\u0001\u0001");
+        HashStatistics statistics = new HashStatistics();
+        List<Integer> matches = new ArrayList<>();
+        pattern.search("\u0000r\u0000\u0001\u0001", matches::add, statistics);
+        assertEquals(Arrays.asList(3), matches);
+        assertEquals(1, statistics.hashHits());
+        assertEquals(0, statistics.falsePositives());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongPatternAgreesWithKmp() {
+        Random random = new Random(1332);
+        char[] chars = new char[20000];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(2));
+        }
+        String text = new String(chars);
+        String pattern = text.substring(9000, 9040);
+        for (boolean doubleHash : new boolean[] {false, true}) {
+            ModularRabinKarpPattern compiled = ModularRabinKarpPattern.compile(pattern,
+                    CharEquivalence.EXACT, doubleHash);
+            assertEquals(doubleHash, compiled.isDoubleHash());
+            HashStatistics statistics = new HashStatistics();
+            List<Integer> matches = new ArrayList<>();
+            compiled.search(text, matches::add, statistics);
+            assertEquals(PatternMatching.kmp(pattern, text), matches);
+            assertEquals(0.0, statistics.falsePositiveRate(), 0.0);
+            assertTrue(statistics.hashHits() >= 1);
+            long hits = statistics.hashHits();
+            compiled.search(text, matches::add, statistics);
+            assertEquals(2 * hits, statistics.hashHits());
+            statistics.reset();
+            assertEquals(0, statistics.hashHits());
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        ModularRabinKarpPattern pattern = ModularRabinKarpPattern.compile("SeA", CharEquivalence.CASE_INSENSITIVE);
+        assertEquals(Arrays.asList(10, 27), pattern.search("She sells seashells by the SEASHORE."));
+    }
+}
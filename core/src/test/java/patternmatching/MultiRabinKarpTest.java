@@ -0,0 +1,67 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for multi-pattern Rabin-Karp.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class MultiRabinKarpTest {
+
+    private static final int TIMEOUT = 500;
+
+    @Test(timeout = TIMEOUT)
+    public void testOrderAndBuckets() {
+        MultiRabinKarp matcher = MultiRabinKarp.compile(Arrays.asList("she", "he", "hers", "he"));
+        assertEquals(3, matcher.bucketCount());
+        assertEquals(Arrays.asList(new MultiMatch(0, 1), new MultiMatch(1, 2), new MultiMatch(3, 2),
+                new MultiMatch(2, 2)), matcher.search("ushers"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPatternsLongerThanText() {
+        MultiRabinKarp matcher = MultiRabinKarp.compile(Arrays.asList("abcdef", "b"));
+        assertEquals(Arrays.asList(new MultiMatch(1, 1)), matcher.search("abc"));
+        assertEquals(new ArrayList<MultiMatch>(), matcher.search(""));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testPatternsCollidingUnderBase113() {
+        // both hash to 113 * 1 + 1 = 114 in PatternMatching.rabinKarp
+        MultiRabinKarp matcher = MultiRabinKarp.compile(Arrays.asList("\u0001\u0001", "\u0000r"));
+        assertEquals(Arrays.asList(new MultiMatch(1, 0), new MultiMatch(0, 3)),
+                matcher.search("\u0000r\u0000\u0001\u0001"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithAhoCorasick() {
+        Random random = new Random(1332);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            char[] chars = new char[4 + random.nextInt(3)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(2));
+            }
+            patterns.add(new String(chars));
+        }
+        char[] text = new char[5000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (char) ('a' + random.nextInt(2));
+        }
+        List<MultiMatch> expected = AhoCorasick.compile(patterns).search(new String(text));
+        expected.sort(Comparator.comparingInt(MultiMatch::startIndex)
+                .thenComparingInt(match -> patterns.get(match.patternId()).length())
+                .thenComparingInt(MultiMatch::patternId));
+        assertEquals(expected, MultiRabinKarp.compile(patterns).search(new String(text)));
+    }
+}
@@ -0,0 +1,78 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the parallel chunked search.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class ParallelSearchTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testEqualsSequentialForEveryAlgorithm() {
+        Random random = new Random(1332);
+        char[] chars = new char[20000];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        String text = new String(chars);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+                for (String pattern : new String[] {"a", "abc", text.substring(77, 90)}) {
+                    CompiledPattern compiled = algorithm.compile(pattern);
+                    List<Integer> expected = compiled.search(text);
+                    for (int minChunkSize : new int[] {1, 13, 1000, ParallelSearch.DEFAULT_MIN_CHUNK_SIZE}) {
+                        ParallelSearch search = new ParallelSearch(compiled, pool, minChunkSize);
+                        assertEquals(algorithm + " " + minChunkSize, expected, search.search(text));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesInOverlapAreNotDuplicated() {
+        String text = "aaaaaaaaaaaaaaaaaaaa";
+        ParallelSearch search = new ParallelSearch(KmpPattern.compile("aaa"), ForkJoinPool.commonPool(), 2);
+        List<Integer> matches = search.search(text);
+        assertEquals(18, matches.size());
+        assertEquals(PatternMatching.kmp("aaa", text), matches);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSearchIntoReusesBuffer() {
+        MatchBuffer buffer = new MatchBuffer();
+        ParallelSearch search = new ParallelSearch(BoyerMoorePattern.compile("ab"), ForkJoinPool.commonPool(), 3);
+        search.searchInto("xxabxxabxxab", buffer);
+        assertEquals("[2, 6, 10]", buffer.toString());
+        search.searchInto("ab", buffer);
+        assertEquals("[0]", buffer.toString());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testTextShorterThanPattern() {
+        ParallelSearch search = new ParallelSearch(RabinKarpPattern.compile("abc"), ForkJoinPool.commonPool(), 1);
+        assertEquals(Collections.emptyList(), search.search("ab"));
+        assertEquals(Arrays.asList(0), search.search("abc"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinChunkSizeZero() {
+        new ParallelSearch(KmpPattern.compile("a"), ForkJoinPool.commonPool(), 0);
+    }
+}
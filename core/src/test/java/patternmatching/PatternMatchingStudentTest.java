@@ -1,3 +1,5 @@
+package patternmatching;
+
 import org.junit.Before;
 import org.junit.Test;
 
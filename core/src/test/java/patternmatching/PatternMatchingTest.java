@@ -1,3 +1,5 @@
+package patternmatching;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -0,0 +1,221 @@
+package patternmatching;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the query modes every compiled pattern has: first match, count,
+ * first-N, lazy iteration, streams and non-overlapping search. Each test
+ * runs once per engine.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+@RunWith(Parameterized.class)
+public class QueryModesTest {
+
+    private static final int TIMEOUT = 500;
+
+    private final BiFunction<String, CharEquivalence, CompiledPattern> engine;
+    private final boolean lazy;
+
+    /**
+     * Creates the tests for one engine.
+     *
+     * @param name   the name of the engine, for the test report
+     * @param engine compiles a pattern with the engine
+     * @param lazy   whether the engine overrides the query modes to stop
+     *               early instead of using the full-scan defaults
+     */
+    public QueryModesTest(String name, BiFunction<String, CharEquivalence, CompiledPattern> engine, boolean lazy) {
+        this.engine = engine;
+        this.lazy = lazy;
+    }
+
+    /**
+     * Lists the engines under test.
+     *
+     * @return the name, compile function and laziness of each engine
+     */
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> engines() {
+        return Arrays.asList(new Object[][] {
+            {"KMP", (BiFunction<String, CharEquivalence, CompiledPattern>) KmpPattern::compile, true},
+            {"BOYER_MOORE", (BiFunction<String, CharEquivalence, CompiledPattern>) BoyerMoorePattern::compile, true},
+            {"RABIN_KARP", (BiFunction<String, CharEquivalence, CompiledPattern>) RabinKarpPattern::compile, true},
+            {"HORSPOOL", (BiFunction<String, CharEquivalence, CompiledPattern>) HorspoolPattern::compile, false},
+        });
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSimple() {
+        CompiledPattern pattern = engine.apply("aba", CharEquivalence.EXACT);
+        String text = "xabababxaba";
+        assertEquals(1, pattern.indexOf(text));
+        assertEquals(3, pattern.indexOf(text, 2));
+        assertEquals(8, pattern.indexOf(text, 4));
+        assertEquals(-1, pattern.indexOf(text, 9));
+        assertEquals(-1, pattern.indexOf(text, 100));
+        assertTrue(pattern.contains(text));
+        assertFalse(pattern.contains("abba"));
+        assertEquals(3, pattern.count(text));
+        assertEquals(0, pattern.count("ab"));
+        assertEquals(Arrays.asList(1, 3), pattern.findFirst(text, 2));
+        assertEquals(Arrays.asList(1, 3, 8), pattern.findFirst(text, 10));
+        assertEquals(Collections.emptyList(), pattern.findFirst(text, 0));
+        assertEquals(Arrays.asList(1, 8), pattern.searchNonOverlapping(text));
+        assertEquals(Arrays.asList(0, 4), pattern.searchNonOverlapping("abababa"));
+        assertEquals(Arrays.asList(0, 2), engine.apply("aa", CharEquivalence.EXACT).searchNonOverlapping("aaaaa"));
+        assertEquals(Collections.emptyList(), engine.apply("abc", CharEquivalence.EXACT).searchNonOverlapping("ab"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testIterator() {
+        PrimitiveIterator.OfInt matches = engine.apply("aba", CharEquivalence.EXACT).matches("xabababxaba");
+        assertTrue(matches.hasNext());
+        assertTrue(matches.hasNext());
+        assertEquals(1, matches.nextInt());
+        assertEquals(3, matches.nextInt());
+        assertTrue(matches.hasNext());
+        assertEquals(8, matches.nextInt());
+        assertFalse(matches.hasNext());
+        assertFalse(engine.apply("abc", CharEquivalence.EXACT).matches("ab").hasNext());
+    }
+
+    @Test(timeout = TIMEOUT, expected = NoSuchElementException.class)
+    public void testIteratorExhausted() {
+        PrimitiveIterator.OfInt matches = engine.apply("a", CharEquivalence.EXACT).matches("a");
+        matches.nextInt();
+        matches.nextInt();
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStreamOperations() {
+        CompiledPattern pattern = engine.apply("ab", CharEquivalence.EXACT);
+        String text = "ab".repeat(50);
+        assertEquals(Arrays.asList(20, 40), pattern.matchStream(text).filter(i -> i % 20 == 0).skip(1).limit(2)
+                .boxed().collect(Collectors.toList()));
+        assertEquals(50, pattern.matchStream(text).count());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithNaiveSearch() {
+        Random random = new Random(5);
+        for (int round = 0; round < 300; round++) {
+            String text = TestStrings.randomString(random, "ab", 20 + random.nextInt(200));
+            String pattern = round % 3 == 0 ? "aba" : text.substring(0, 1 + random.nextInt(4));
+            List<Integer> all = TestStrings.naiveSearch(pattern, text);
+            List<Integer> nonOverlapping = new ArrayList<>();
+            for (int index : all) {
+                if (nonOverlapping.isEmpty()
+                        || index >= nonOverlapping.get(nonOverlapping.size() - 1) + pattern.length()) {
+                    nonOverlapping.add(index);
+                }
+            }
+            int limit = random.nextInt(5);
+            int from = random.nextInt(text.length());
+            int expectedFrom = all.stream().filter(i -> i >= from).findFirst().orElse(-1);
+            CompiledPattern compiled = engine.apply(pattern, CharEquivalence.EXACT);
+            assertEquals(all, compiled.search(text));
+            assertEquals(all.isEmpty() ? -1 : all.get(0), compiled.indexOf(text));
+            assertEquals(expectedFrom, compiled.indexOf(text, from));
+            assertEquals(all.size(), compiled.count(text));
+            assertEquals(all.subList(0, Math.min(limit, all.size())), compiled.findFirst(text, limit));
+            List<Integer> iterated = new ArrayList<>();
+            compiled.matches(text).forEachRemaining((int index) -> iterated.add(index));
+            assertEquals(all, iterated);
+            assertEquals(all, compiled.matchStream(text).boxed().collect(Collectors.toList()));
+            assertEquals(nonOverlapping, compiled.searchNonOverlapping(text));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testStopsEarly() {
+        assumeTrue(lazy);
+        String text = "needle" + "x".repeat(100000) + "needle";
+        CountingCharEquivalence counting = new CountingCharEquivalence(CharEquivalence.EXACT);
+        CompiledPattern pattern = engine.apply("needle", counting);
+        assertTrue(pattern.contains(text));
+        assertTrue(counting.getComparisonCount() <= 6);
+        counting.reset();
+        assertEquals(Collections.singletonList(0), pattern.findFirst(text, 1));
+        assertTrue(counting.getComparisonCount() <= 6);
+        counting.reset();
+        assertEquals(0, pattern.matchStream(text).findFirst().getAsInt());
+        assertTrue(counting.getComparisonCount() <= 6);
+        counting.reset();
+        assertEquals(Arrays.asList(0), pattern.matchStream(text).limit(1).boxed().collect(Collectors.toList()));
+        assertTrue(counting.getComparisonCount() <= 6);
+        assertEquals(2, pattern.matchStream(text).count());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testNonOverlappingSkipsMatchedWindows() {
+        assumeTrue(lazy);
+        String text = "a".repeat(10000);
+        CountingCharEquivalence counting = new CountingCharEquivalence(CharEquivalence.EXACT);
+        CompiledPattern pattern = engine.apply("a".repeat(10), counting);
+        assertEquals(1000, pattern.searchNonOverlapping(text).size());
+        long skipping = counting.getComparisonCount();
+        assertTrue(skipping <= text.length());
+        counting.reset();
+        assertEquals(9991, pattern.count(text));
+        assertTrue(skipping <= counting.getComparisonCount());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        CompiledPattern pattern = engine.apply("QuIz", CharEquivalence.CASE_INSENSITIVE);
+        assertEquals(4, pattern.indexOf("pop quiz QUIZ"));
+        assertEquals(2, pattern.count("pop quiz QUIZ"));
+        assertEquals(Arrays.asList(0, 4),
+                engine.apply("AbA", CharEquivalence.CASE_INSENSITIVE).searchNonOverlapping("aBaBAbA"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFromIndex() {
+        engine.apply("a", CharEquivalence.EXACT).indexOf("a", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        engine.apply("a", CharEquivalence.EXACT).findFirst("a", -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTextCount() {
+        engine.apply("a", CharEquivalence.EXACT).count(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTextMatches() {
+        engine.apply("a", CharEquivalence.EXACT).matches(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullTextNonOverlapping() {
+        engine.apply("a", CharEquivalence.EXACT).searchNonOverlapping(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSinkNonOverlapping() {
+        engine.apply("a", CharEquivalence.EXACT).searchNonOverlapping("a", null);
+    }
+}
@@ -0,0 +1,103 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the frequency tables and the patterns anchored on rare chars.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class RareCharPatternTest {
+
+    private static final int TIMEOUT = 500;
+
+    @Test(timeout = TIMEOUT)
+    public void testBuiltInTables() {
+        assertTrue(CharFrequency.ENGLISH.frequency('e') > CharFrequency.ENGLISH.frequency('q'));
+        assertTrue(CharFrequency.ENGLISH.frequency(' ') > CharFrequency.ENGLISH.frequency('e'));
+        assertTrue(CharFrequency.LOG.frequency('0') > CharFrequency.ENGLISH.frequency('0'));
+        assertTrue(CharFrequency.DNA.frequency('G') > CharFrequency.DNA.frequency('N'));
+        assertEquals(0, CharFrequency.ENGLISH.frequency('中'), 0);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAnchorsAreRarestChars() {
+        RareCharPattern pattern = RareCharPattern.compile("the quiz ");
+        assertEquals(7, pattern.anchor());
+        assertEquals(4, pattern.secondAnchor());
+
+        // ties go to the later index
+        RareCharPattern dna = RareCharPattern.compile("ACGT", CharEquivalence.EXACT, CharFrequency.DNA);
+        assertEquals(3, dna.anchor());
+        assertEquals(2, dna.secondAnchor());
+
+        RareCharPattern single = RareCharPattern.compile("x");
+        assertEquals(0, single.anchor());
+        assertEquals(0, single.secondAnchor());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCustomTables() {
+        Map<Character, Integer> counts = new HashMap<>();
+        counts.put('a', 1);
+        counts.put('b', 100);
+        counts.put('中', 1000);
+        RareCharPattern pattern = RareCharPattern.compile("中bab", CharEquivalence.EXACT, CharFrequency.of(counts));
+        assertEquals(2, pattern.anchor());
+        assertEquals(3, pattern.secondAnchor());
+
+        CharFrequency sample = CharFrequency.fromSample("aaab中中");
+        assertEquals(3, sample.frequency('a'), 0);
+        assertEquals(2, sample.frequency('中'), 0);
+        assertEquals(0, sample.frequency('z'), 0);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithKmp() {
+        Random random = new Random(1332);
+        CharFrequency[] tables = {CharFrequency.ENGLISH, CharFrequency.LOG, CharFrequency.DNA};
+        for (int round = 0; round < 200; round++) {
+            char[] chars = new char[300];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = "ACGTe ".charAt(random.nextInt(6));
+            }
+            String text = new String(chars);
+            int start = random.nextInt(290);
+            String pattern = text.substring(start, start + 1 + random.nextInt(8));
+            List<Integer> expected = KmpPattern.compile(pattern).search(text);
+            for (CharFrequency table : tables) {
+                assertEquals(expected, RareCharPattern.compile(pattern, CharEquivalence.EXACT, table).search(text));
+                assertEquals(expected, RareCharPattern.compile(pattern, CharEquivalence.EXACT, table)
+                        .search(new StringBuilder(text)));
+                assertEquals(expected, VectorizedPattern.compile(pattern, CharEquivalence.EXACT, table).search(text));
+                byte[] bytes = pattern.getBytes(StandardCharsets.US_ASCII);
+                assertEquals(expected, VectorizedBytePattern.compile(bytes, table)
+                        .search(text.getBytes(StandardCharsets.US_ASCII)));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        RareCharPattern pattern = RareCharPattern.compile("QuIz", CharEquivalence.CASE_INSENSITIVE);
+        assertEquals(Arrays.asList(4, 9), pattern.search("pop quiz QUIZ"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeFrequency() {
+        Map<Character, Double> frequencies = new HashMap<>();
+        frequencies.put('a', -1.0);
+        CharFrequency.of(frequencies);
+    }
+}
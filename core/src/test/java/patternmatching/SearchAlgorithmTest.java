@@ -0,0 +1,69 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that every SearchAlgorithm finds the same matches.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class SearchAlgorithmTest {
+
+    private static final int TIMEOUT = 500;
+
+    @Test(timeout = TIMEOUT)
+    public void testShiftTables() {
+        CharIntTable horspool = CharIntTable.horspoolShifts("octocat");
+        assertEquals(3, horspool.get('o'));
+        assertEquals(2, horspool.get('c'));
+        assertEquals(1, horspool.get('a'));
+        assertEquals(4, horspool.get('t'));
+        assertEquals(7, horspool.get('z'));
+        CharIntTable sunday = CharIntTable.sundayShifts("octocat");
+        assertEquals(4, sunday.get('o'));
+        assertEquals(3, sunday.get('c'));
+        assertEquals(2, sunday.get('a'));
+        assertEquals(1, sunday.get('t'));
+        assertEquals(8, sunday.get('z'));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testSellsSeashells() {
+        for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+            assertEquals(algorithm.name(), Arrays.asList(4),
+                    PatternMatching.search("sell", "She sells seashells by the seashore.", algorithm));
+            assertEquals(algorithm.name(), Arrays.asList(0, 1, 2),
+                    PatternMatching.search("aa", "aaaa", algorithm));
+            assertEquals(algorithm.name(), Arrays.asList(3),
+                    PatternMatching.search("x", "aaax", algorithm));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreeOnRandomText() {
+        Random random = new Random(1332);
+        for (int round = 0; round < 200; round++) {
+            String text = TestStrings.randomString(random, 1 + random.nextInt(4), 300);
+            String pattern = TestStrings.randomString(random, 2, 1 + random.nextInt(8));
+            List<Integer> expected = PatternMatching.kmp(pattern, text, new CharacterComparator());
+            for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+                assertEquals(algorithm.name(), expected, algorithm.compile(pattern).search(text));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        for (SearchAlgorithm algorithm : SearchAlgorithm.values()) {
+            assertEquals(algorithm.name(), Arrays.asList(0, 9),
+                    algorithm.compile("ABc", CharEquivalence.CASE_INSENSITIVE).search("abC xyz aAbC"));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the Shift-Or patterns.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class ShiftOrPatternTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testSimple() {
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), PatternMatching.shiftOr("aba", "abababababa"));
+        assertEquals(Collections.emptyList(), PatternMatching.shiftOr("abc", "ab"));
+        assertEquals(Arrays.asList(1), PatternMatching.shiftOr("b", "abc"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWordsByLength() {
+        assertEquals(1, ShiftOrPattern.compile("a".repeat(64)).words());
+        assertEquals(2, ShiftOrPattern.compile("a".repeat(65)).words());
+        assertEquals(4, ShiftOrPattern.compile("a".repeat(256)).words());
+        assertEquals(0, ShiftOrPattern.compile("a".repeat(257)).words());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithKmpAcrossLengths() {
+        Random random = new Random(2024);
+        int[] lengths = {1, 2, 63, 64, 65, 127, 128, 129, 200, 256, 257, 300};
+        for (int m : lengths) {
+            for (int round = 0; round < 10; round++) {
+                char[] chars = new char[2000];
+                for (int i = 0; i < chars.length; i++) {
+                    chars[i] = "ab".charAt(random.nextInt(20) == 0 ? 1 : 0);
+                }
+                String text = new String(chars);
+                int start = random.nextInt(text.length() - m);
+                String pattern = text.substring(start, start + m);
+                List<Integer> expected = KmpPattern.compile(pattern).search(text);
+                assertEquals(expected, ShiftOrPattern.compile(pattern).search(text));
+                assertEquals(expected, ShiftOrPattern.compile(pattern).search(new StringBuilder(text)));
+                byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+                byte[] patternBytes = pattern.getBytes(StandardCharsets.US_ASCII);
+                assertEquals(expected, PatternMatching.shiftOr(patternBytes, bytes));
+                ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+                assertEquals(expected, PatternMatching.shiftOr(patternBytes, direct));
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testWideChars() {
+        String text = "中文中文字中文字字 €uro中文字";
+        assertEquals(KmpPattern.compile("中文字").search(text), ShiftOrPattern.compile("中文字").search(text));
+        assertEquals(Arrays.asList(10), ShiftOrPattern.compile("€uro").search(text));
+        // a wide char that is not in the pattern must not match anything
+        assertEquals(Collections.emptyList(), ShiftOrPattern.compile("ab中").search("ab文ab字"));
+        String longPattern = "中".repeat(70) + "文";
+        String longText = "中".repeat(100) + "文" + "中".repeat(71) + "文";
+        assertEquals(Arrays.asList(30, 102), ShiftOrPattern.compile(longPattern).search(longText));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        ShiftOrPattern pattern = ShiftOrPattern.compile("QuIz", CharEquivalence.CASE_INSENSITIVE);
+        assertEquals(Arrays.asList(4, 9), pattern.search("pop quiz QUIZ"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testByteBufferOffsets() {
+        byte[] bytes = "xxabcabc".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 3, 5).slice();
+        assertEquals(Arrays.asList(2), PatternMatching.shiftOr("abc".getBytes(StandardCharsets.US_ASCII), buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        ShiftOrPattern.compile("");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullText() {
+        ShiftOrPattern.compile("a").search((CharSequence) null);
+    }
+}
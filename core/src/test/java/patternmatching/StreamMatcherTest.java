@@ -0,0 +1,171 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the streaming matchers.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class StreamMatcherTest {
+
+    private static final int TIMEOUT = 500;
+
+    private static List<Long> toLongs(List<Integer> indices) {
+        List<Long> list = new ArrayList<>();
+        for (int index : indices) {
+            list.add((long) index);
+        }
+        return list;
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchSpanningChunks() {
+        List<Long> matches = new ArrayList<>();
+        KmpStreamMatcher matcher = KmpPattern.compile("abab").streamMatcher(matches::add);
+        matcher.feed("xxa");
+        matcher.feed("b");
+        matcher.feed("");
+        matcher.feed("abab");
+        assertEquals(Arrays.asList(2L, 4L), matches);
+        assertEquals(8, matcher.position());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testRandomChunksMatchWholeText() {
+        Random random = new Random(1332);
+        for (int trial = 0; trial < 100; trial++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(500);
+            for (int i = 0; i < length; i++) {
+                text.append((char) ('a' + random.nextInt(2)));
+            }
+            String pattern = text.length() > 20 ? text.substring(10, 10 + 1 + random.nextInt(8)) : "ab";
+            List<Long> expected = toLongs(KmpPattern.compile(pattern).search(text));
+
+            List<Long> matches = new ArrayList<>();
+            List<StreamMatcher> matchers = Arrays.asList(KmpPattern.compile(pattern).streamMatcher(matches::add),
+                    BoyerMoorePattern.compile(pattern).streamMatcher(matches::add),
+                    RabinKarpPattern.compile(pattern).streamMatcher(matches::add));
+            for (StreamMatcher matcher : matchers) {
+                matches.clear();
+                int start = 0;
+                while (start < text.length()) {
+                    int end = Math.min(text.length(), start + random.nextInt(10));
+                    matcher.feed(text.subSequence(start, end));
+                    start = end;
+                }
+                assertEquals(matcher.getClass().getSimpleName(), expected, matches);
+                assertEquals(text.length(), matcher.position());
+            }
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCharBufferAndEquivalence() {
+        List<Long> matches = new ArrayList<>();
+        KmpStreamMatcher matcher = KmpPattern.compile("ABC", CharEquivalence.CASE_INSENSITIVE)
+                .streamMatcher(matches::add);
+        CharBuffer chunk = CharBuffer.wrap("xxab");
+        matcher.feed(chunk);
+        assertEquals(chunk.limit(), chunk.position());
+        matcher.feed(CharBuffer.wrap("cAbC"));
+        assertEquals(Arrays.asList(2L, 5L), matches);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testReset() {
+        List<Long> matches = new ArrayList<>();
+        KmpStreamMatcher matcher = KmpPattern.compile("ab").streamMatcher(matches::add);
+        matcher.feed("xxa");
+        matcher.reset();
+        matcher.feed("b");
+        matcher.feed("ab");
+        assertEquals(Arrays.asList(1L), matches);
+        assertEquals(3, matcher.position());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBytesSplitInsideUtf8Char() {
+        byte[] text = "ça va, ça va".getBytes(StandardCharsets.UTF_8);
+        List<Long> matches = new ArrayList<>();
+        ByteKmpStreamMatcher matcher = ByteKmpPattern.compile("ça".getBytes(StandardCharsets.UTF_8))
+                .streamMatcher(matches::add);
+        ByteBuffer direct = ByteBuffer.allocateDirect(text.length).put(text).flip();
+        direct.limit(1);
+        matcher.feed(direct);
+        direct.limit(9);
+        matcher.feed(direct);
+        matcher.feed(text, 9, text.length - 9);
+        assertEquals(Arrays.asList(0L, 8L), matches);
+        assertEquals(text.length, matcher.position());
+        assertEquals(9, direct.position());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testByteChunksMatchWholeText() {
+        Random random = new Random(42);
+        byte[] text = new byte[2000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) random.nextInt(3);
+        }
+        byte[] pattern = Arrays.copyOfRange(text, 500, 505);
+        List<Long> expected = toLongs(ByteKmpPattern.compile(pattern).search(text));
+        List<Long> matches = new ArrayList<>();
+        List<ByteStreamMatcher> matchers = Arrays.asList(ByteKmpPattern.compile(pattern).streamMatcher(matches::add),
+                ByteBoyerMoorePattern.compile(pattern).streamMatcher(matches::add),
+                ByteRabinKarpPattern.compile(pattern).streamMatcher(matches::add));
+        ByteBuffer direct = ByteBuffer.allocateDirect(text.length).put(text).flip();
+        for (ByteStreamMatcher matcher : matchers) {
+            matches.clear();
+            int start = 0;
+            while (start < text.length) {
+                int length = Math.min(text.length - start, random.nextInt(7));
+                if (length % 2 == 0) {
+                    matcher.feed(ByteBuffer.wrap(text, start, length));
+                } else {
+                    matcher.feed(direct.limit(start + length).position(start));
+                }
+                start += length;
+            }
+            assertEquals(matcher.getClass().getSimpleName(), expected, matches);
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCarryOverStaysBounded() {
+        // a single-char pattern carries nothing over
+        List<Long> matches = new ArrayList<>();
+        StreamMatcher boyerMoore = BoyerMoorePattern.compile("a").streamMatcher(matches::add);
+        boyerMoore.feed("ba");
+        boyerMoore.feed("a");
+        assertEquals(Arrays.asList(1L, 2L), matches);
+
+        // a match that starts in a chunk shorter than the carry-over
+        matches.clear();
+        StreamMatcher rabinKarp = RabinKarpPattern.compile("abcde").streamMatcher(matches::add);
+        boyerMoore = BoyerMoorePattern.compile("abcde").streamMatcher(matches::add);
+        for (StreamMatcher matcher : Arrays.asList(rabinKarp, boyerMoore)) {
+            for (String chunk : new String[] {"xa", "b", "", "c", "dexxabcd", "e"}) {
+                matcher.feed(chunk);
+            }
+        }
+        assertEquals(Arrays.asList(1L, 8L, 1L, 8L), matches);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullSink() {
+        KmpPattern.compile("a").streamMatcher(null);
+    }
+}
@@ -0,0 +1,70 @@
+package patternmatching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Text generators and a reference search shared by the tests.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+final class TestStrings {
+
+    /**
+     * Not meant to be instantiated.
+     */
+    private TestStrings() {
+    }
+
+    /**
+     * Builds a random string.
+     *
+     * @param random   the source of randomness
+     * @param alphabet the chars to draw from
+     * @param length   the length of the string
+     * @return the random string
+     */
+    static String randomString(Random random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Builds a random string over the first few letters.
+     *
+     * @param random  the source of randomness
+     * @param letters how many letters, from 'a' on, to draw from
+     * @param length  the length of the string
+     * @return the random string
+     */
+    static String randomString(Random random, int letters, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(letters));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Finds every occurrence of the pattern by checking each start index,
+     * as a reference for the engines.
+     *
+     * @param pattern the pattern
+     * @param text    the text
+     * @return the starting index of each match, in order
+     */
+    static List<Integer> naiveSearch(String pattern, String text) {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i + pattern.length() <= text.length(); i++) {
+            if (text.startsWith(pattern, i)) {
+                list.add(i);
+            }
+        }
+        return list;
+    }
+}
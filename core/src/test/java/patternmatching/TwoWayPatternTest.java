@@ -0,0 +1,95 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the Two-Way pattern.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class TwoWayPatternTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testSimple() {
+        assertEquals(Arrays.asList(0, 2, 4, 6, 8), PatternMatching.twoWay("aba", "abababababa"));
+        assertEquals(Arrays.asList(2), PatternMatching.twoWay("abc", "ababcab"));
+        assertEquals(Collections.emptyList(), PatternMatching.twoWay("abc", "ab"));
+        assertEquals(Arrays.asList(0, 1, 2), PatternMatching.twoWay("a", "aaa"));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCriticalFactorization() {
+        TwoWayPattern periodic = TwoWayPattern.compile("abaabaab");
+        assertEquals(3, periodic.period());
+        TwoWayPattern single = TwoWayPattern.compile("x");
+        assertEquals(-1, single.criticalPosition());
+        assertEquals(1, single.period());
+        TwoWayPattern pattern = TwoWayPattern.compile("gcagagag");
+        assertTrue(pattern.criticalPosition() >= -1 && pattern.criticalPosition() < 8);
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testAgreesWithKmp() {
+        Random random = new Random(7);
+        String[] alphabets = {"ab", "abc", "acgt", "ab中"};
+        for (int round = 0; round < 2000; round++) {
+            String alphabet = alphabets[round % alphabets.length];
+            char[] chars = new char[50 + random.nextInt(200)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            String text = new String(chars);
+            String pattern;
+            if (random.nextBoolean()) {
+                int start = random.nextInt(text.length() - 20);
+                pattern = text.substring(start, start + 1 + random.nextInt(20));
+            } else {
+                char[] patternChars = new char[1 + random.nextInt(6)];
+                for (int i = 0; i < patternChars.length; i++) {
+                    patternChars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+                pattern = new String(patternChars);
+            }
+            List<Integer> expected = KmpPattern.compile(pattern).search(text);
+            assertEquals(pattern + " in " + text, expected, TwoWayPattern.compile(pattern).search(text));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLinearOnWorstCases() {
+        String text = "a".repeat(1 << 20);
+        assertEquals(0, TwoWayPattern.compile("a".repeat(5000) + "b").search(text).size());
+        assertEquals((1 << 20) - 4999, TwoWayPattern.compile("a".repeat(5000)).search(text).size());
+        assertEquals(0, TwoWayPattern.compile("b" + "a".repeat(5000)).search(text).size());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testLongPatternsThroughShiftOr() {
+        String pattern = "ab".repeat(200) + "c";
+        String text = "ab".repeat(500) + "c" + pattern;
+        assertEquals(0, ShiftOrPattern.compile(pattern).words());
+        assertEquals(Arrays.asList(600, 1001), ShiftOrPattern.compile(pattern).search(text));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testCaseInsensitive() {
+        TwoWayPattern pattern = TwoWayPattern.compile("QuIz", CharEquivalence.CASE_INSENSITIVE);
+        assertEquals(Arrays.asList(4, 9), pattern.search("pop quiz QUIZ"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyPattern() {
+        TwoWayPattern.compile("");
+    }
+}
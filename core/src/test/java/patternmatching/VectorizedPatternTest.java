@@ -0,0 +1,86 @@
+package patternmatching;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the vectorized prefilter. The build adds jdk.incubator.vector,
+ * so these run the vector code; without it, they run the scalar fallback.
+ *
+ * @author Yueqiao Chen
+ * @version 1.0
+ */
+public class VectorizedPatternTest {
+
+    private static final int TIMEOUT = 2000;
+
+    @Test(timeout = TIMEOUT)
+    public void testVectorApiIsUsed() {
+        assertFalse(VectorizedPattern.compile("abc", CharEquivalence.CASE_INSENSITIVE).isVectorized());
+        assumeTrue(VectorizedPattern.isVectorApiAvailable());
+        assertTrue(VectorizedPattern.compile("abc").isVectorized());
+        assertTrue(VectorizedBytePattern.compile(new byte[] {1}).isVectorized());
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testMatchesAcrossBlocks() {
+        Random random = new Random(1332);
+        int length = 3 * VectorizedPattern.BLOCK_SIZE + 77;
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(2)));
+        }
+        for (int m : new int[] {1, 2, 3, 5, 17, 70}) {
+            String pattern = text.substring(VectorizedPattern.BLOCK_SIZE - 3, VectorizedPattern.BLOCK_SIZE - 3 + m);
+            List<Integer> expected = KmpPattern.compile(pattern).search(text);
+            VectorizedPattern compiled = VectorizedPattern.compile(pattern);
+            assertEquals("m = " + m, expected, compiled.search(text.toString()));
+            assertEquals("m = " + m, expected, compiled.search(text));
+            assertEquals("m = " + m, expected, compiled.search(CharBuffer.wrap(text)));
+        }
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testUnicode() {
+        String text = "中文￿\u0000中文中";
+        assertEquals(Arrays.asList(0, 4), VectorizedPattern.compile("中文").search(text));
+        assertEquals(Arrays.asList(2), VectorizedPattern.compile("￿").search(text));
+    }
+
+    @Test(timeout = TIMEOUT)
+    public void testBytes() {
+        Random random = new Random(42);
+        byte[] text = new byte[2 * VectorizedPattern.BLOCK_SIZE + 300];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) (0xFE + random.nextInt(3));
+        }
+        for (int m : new int[] {1, 2, 4, 9, 100}) {
+            byte[] pattern = Arrays.copyOfRange(text, 1000, 1000 + m);
+            List<Integer> expected = ByteKmpPattern.compile(pattern).search(text);
+            VectorizedBytePattern compiled = VectorizedBytePattern.compile(pattern);
+            assertEquals(expected, compiled.search(text));
+            ByteBuffer direct = ByteBuffer.allocateDirect(text.length).put(text).flip();
+            assertEquals(expected, compiled.search(direct));
+
+            List<Integer> shifted = new ArrayList<>();
+            for (int index : expected) {
+                if (index >= 5) {
+                    shifted.add(index - 5);
+                }
+            }
+            ByteBuffer slice = ByteBuffer.wrap(text, 5, text.length - 5).slice();
+            assertEquals(shifted, compiled.search(slice));
+        }
+    }
+}